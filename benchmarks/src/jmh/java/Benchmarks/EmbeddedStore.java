@@ -0,0 +1,179 @@
+package Benchmarks;
+
+import DB.JDBC;
+import Model.DAO.SalesSummaryDAO;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+
+/**
+ * Embedded MariaDB server seeded with a synthetic store, used by the DAO benchmarks.
+ * <p>
+ * The server runs on a free local port with a throwaway data directory. Once seeded, the
+ * db.url/db.user/db.password system properties point DB.JDBC at it, so the application's own
+ * pool and schema migrations are used unchanged. Data is generated from a fixed seed, so runs
+ * with the same sizes are comparable.
+ */
+public class EmbeddedStore {
+
+    private static final Logger logger = Logger.getLogger(EmbeddedStore.class.getName());
+
+    private static final String DATABASE = "atarisync_bench";
+    private static final long SEED = 42;
+    private static final int PRODUCTS_PER_CATEGORY = 50;
+    private static final int MAX_ITEMS_PER_SALE = 5;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static ch.vorburger.mariadb4j.DB server;
+
+    /**
+     * Starts the server and seeds it with the given number of products and days of sales
+     * history ending yesterday. Does nothing if already started.
+     */
+    public static synchronized void start(int products, int days, int salesPerDay) throws Exception {
+        if (server != null) return;
+
+        long start = System.nanoTime();
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        server = ch.vorburger.mariadb4j.DB.newEmbeddedDB(config.build());
+        server.start();
+        server.createDB(DATABASE);
+
+        String url = config.getURL(DATABASE) + "?rewriteBatchedStatements=true";
+        try (Connection conn = DriverManager.getConnection(url, "root", "")) {
+            createSchema(conn);
+            seed(conn, products, days, salesPerDay);
+        }
+
+        System.setProperty("db.url", url);
+        System.setProperty("db.user", "root");
+        System.setProperty("db.password", "");
+        JDBC.init();
+        SalesSummaryDAO.rebuild(null, null); // The app backfills rollups in the background instead
+        logger.info("Embedded store ready with " + products + " products and " + days + " days of sales in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    public static synchronized void stop() throws Exception {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    private static void createSchema(Connection conn) throws IOException, SQLException {
+        String script;
+        try (InputStream input = EmbeddedStore.class.getResourceAsStream("schema.sql")) {
+            if (input == null) throw new IOException("schema.sql not found in Benchmarks package");
+            script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!statement.isBlank()) stmt.execute(statement);
+            }
+        }
+    }
+
+    private static void seed(Connection conn, int products, int days, int salesPerDay) throws SQLException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        conn.setAutoCommit(false);
+
+        int categories = Math.max(1, (products + PRODUCTS_PER_CATEGORY - 1) / PRODUCTS_PER_CATEGORY);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO category (category_id, category_name) VALUES (?, ?)")) {
+            for (int id = 1; id <= categories; id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, "Category " + id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        long[] priceCentavos = new long[products + 1];
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO product (product_id, category_id, product_name, description, product_price, stock)
+                VALUES (?, ?, ?, ?, ?, ?)
+            """)) {
+            for (int id = 1; id <= products; id++) {
+                priceCentavos[id] = random.nextLong(1_000, 200_000);
+                stmt.setInt(1, id);
+                stmt.setInt(2, (id - 1) % categories + 1);
+                stmt.setString(3, "Product " + id);
+                stmt.setString(4, "Benchmark product " + id);
+                stmt.setBigDecimal(5, BigDecimal.valueOf(priceCentavos[id], 2));
+                stmt.setInt(6, random.nextInt(0, 500));
+                stmt.addBatch();
+                if (id % BATCH_SIZE == 0) flush(conn, stmt);
+            }
+            flush(conn, stmt);
+        }
+
+        try (PreparedStatement saleStmt = conn.prepareStatement(
+                     "INSERT INTO sale (sale_id, sale_date, sale_qty, total_amount) VALUES (?, ?, ?, ?)");
+             PreparedStatement itemStmt = conn.prepareStatement(
+                     "INSERT INTO sale_item (sale_id, product_id, si_qty, si_price, si_date) VALUES (?, ?, ?, ?, ?)")) {
+
+            int saleId = 0;
+            LocalDate firstDay = LocalDate.now().minusDays(days);
+            for (int day = 0; day < days; day++) {
+                for (int i = 0; i < salesPerDay; i++) {
+                    saleId++;
+                    // Store hours 08:00 to 21:00
+                    LocalDateTime saleDate = firstDay.plusDays(day).atTime(8, 0).plusSeconds(random.nextInt(13 * 3600));
+                    Timestamp timestamp = Timestamp.valueOf(saleDate);
+
+                    int itemCount = random.nextInt(1, MAX_ITEMS_PER_SALE + 1);
+                    int saleQty = 0;
+                    long total = 0;
+                    for (int item = 0; item < itemCount; item++) {
+                        int productId = random.nextInt(1, products + 1);
+                        int qty = random.nextInt(1, 4);
+                        saleQty += qty;
+                        total += priceCentavos[productId] * qty;
+
+                        itemStmt.setInt(1, saleId);
+                        itemStmt.setInt(2, productId);
+                        itemStmt.setInt(3, qty);
+                        itemStmt.setBigDecimal(4, BigDecimal.valueOf(priceCentavos[productId], 2));
+                        itemStmt.setTimestamp(5, timestamp);
+                        itemStmt.addBatch();
+                    }
+
+                    saleStmt.setInt(1, saleId);
+                    saleStmt.setTimestamp(2, timestamp);
+                    saleStmt.setInt(3, saleQty);
+                    saleStmt.setBigDecimal(4, BigDecimal.valueOf(total, 2));
+                    saleStmt.addBatch();
+
+                    if (saleId % BATCH_SIZE == 0) {
+                        saleStmt.executeBatch();
+                        flush(conn, itemStmt);
+                    }
+                }
+            }
+            saleStmt.executeBatch();
+            flush(conn, itemStmt);
+        }
+
+        conn.setAutoCommit(true);
+    }
+
+    private static void flush(Connection conn, PreparedStatement stmt) throws SQLException {
+        stmt.executeBatch();
+        conn.commit();
+    }
+}
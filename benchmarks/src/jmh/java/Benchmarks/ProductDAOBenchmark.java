@@ -0,0 +1,24 @@
+package Benchmarks;
+
+import Model.DAO.ProductDAO;
+import Model.POJO.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading the full catalog, which the product cache does on startup and reload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductDAOBenchmark {
+
+    @Benchmark
+    public List<Product> getAll(StoreState store) throws SQLException {
+        return ProductDAO.getAll();
+    }
+}
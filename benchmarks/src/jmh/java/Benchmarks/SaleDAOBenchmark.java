@@ -0,0 +1,58 @@
+package Benchmarks;
+
+import DB.JDBC;
+import Model.DAO.SaleDAO;
+import Model.DAO.SaleItemDAO;
+import Model.DAO.SalesSummaryDAO;
+import Model.POJO.CartItem;
+import Model.POJO.Sale;
+import Model.POJO.SaleItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the sale reads behind the sales logs and of recording a checkout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaleDAOBenchmark {
+
+    @Benchmark
+    public List<Sale> getSalesByDate(StoreState store) {
+        return SaleDAO.getSalesByDate(store.sampleDay);
+    }
+
+    @Benchmark
+    public List<SaleItem> getSaleItemsByDate(StoreState store) throws SQLException {
+        return SaleItemDAO.getSaleItemsByDate(store.sampleDay);
+    }
+
+    /**
+     * Inserts a three-line sale with its rollup updates, then rolls back so the
+     * history keeps the same size for every invocation.
+     */
+    @Benchmark
+    public int insertSale(StoreState store) throws SQLException {
+        int quantity = store.sampleCart.stream().mapToInt(CartItem::getQuantity).sum();
+        Sale sale = new Sale(LocalDateTime.now(), quantity, store.sampleCartTotal);
+
+        try (Connection conn = JDBC.connect()) {
+            conn.setAutoCommit(false);
+            try {
+                int saleId = SaleDAO.insertSale(conn, sale, store.sampleCart);
+                SalesSummaryDAO.recordSale(conn, sale, store.sampleCart);
+                return saleId;
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package Benchmarks;
+
+import Model.DAO.ProductDAO;
+import Model.POJO.CartItem;
+import Model.POJO.Money;
+import Model.POJO.Product;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A seeded {@link EmbeddedStore} shared by every thread of a benchmark trial.
+ * The catalog size and sales history are JMH parameters, so one run can compare several sizes.
+ */
+@State(Scope.Benchmark)
+public class StoreState {
+
+    private static final int CART_SIZE = 3;
+
+    @Param({"1000", "20000"})
+    public int products;
+
+    @Param({"90"})
+    public int days;
+
+    @Param({"200"})
+    public int salesPerDay;
+
+    // A day in the middle of the seeded history
+    public LocalDate sampleDay;
+    public List<CartItem> sampleCart;
+    public Money sampleCartTotal;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        EmbeddedStore.start(products, days, salesPerDay);
+        sampleDay = LocalDate.now().minusDays(Math.max(1, days / 2));
+
+        List<Integer> cartIds = new ArrayList<>();
+        for (int id = 1; id <= Math.min(CART_SIZE, products); id++) {
+            cartIds.add(id);
+        }
+        sampleCart = new ArrayList<>();
+        for (Product product : ProductDAO.getByIds(cartIds)) {
+            sampleCart.add(new CartItem(product, 2));
+        }
+        sampleCartTotal = Money.sum(sampleCart, CartItem::getTotal);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        EmbeddedStore.stop();
+    }
+}
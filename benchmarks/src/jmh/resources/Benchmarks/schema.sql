@@ -0,0 +1,36 @@
+-- Base tables the application expects before SchemaMigrator runs.
+-- Indexes, product.updated_at, product.sku, the sync log and the rollup
+-- tables are added by the migrations when DB.JDBC first creates its pool.
+
+CREATE TABLE category (
+    category_id INT AUTO_INCREMENT PRIMARY KEY,
+    category_name VARCHAR(100) NOT NULL UNIQUE
+);
+
+CREATE TABLE product (
+    product_id INT AUTO_INCREMENT PRIMARY KEY,
+    category_id INT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    product_price DECIMAL(10,2) NOT NULL DEFAULT 0,
+    stock INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (category_id) REFERENCES category (category_id)
+);
+
+CREATE TABLE sale (
+    sale_id INT AUTO_INCREMENT PRIMARY KEY,
+    sale_date DATETIME NOT NULL,
+    sale_qty INT NOT NULL,
+    total_amount DECIMAL(12,2) NOT NULL
+);
+
+CREATE TABLE sale_item (
+    si_id INT AUTO_INCREMENT PRIMARY KEY,
+    sale_id INT NULL,
+    product_id INT NOT NULL,
+    si_qty INT NOT NULL,
+    si_price DECIMAL(10,2) NOT NULL,
+    si_date DATETIME NOT NULL,
+    FOREIGN KEY (sale_id) REFERENCES sale (sale_id),
+    FOREIGN KEY (product_id) REFERENCES product (product_id)
+);
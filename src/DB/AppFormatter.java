@@ -1,17 +1,8 @@
 package DB;
 
+import Model.POJO.Money;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-
-/**
- * Utility class for consistent formatting of currency, date, time, and numbers.
- */
-import java.text.NumberFormat;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
@@ -19,8 +10,9 @@ import java.util.Locale;
  * Utility class for consistent formatting of currency, numbers, and date/time
  * values using Philippine locale settings.
  *
- * All methods are static and stateless, designed for reusable formatting in the
- * application UI and logging.
+ * All methods are static and thread-safe. Currency and numbers are formatted by hand into a
+ * per-thread StringBuilder, since they are called from table cells on every repaint;
+ * the date/time formatters are immutable and shared.
  */
 public class AppFormatter {
 
@@ -31,14 +23,34 @@ public class AppFormatter {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy");
     private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy hh:mm a");
 
-    /**
-     * Formats a double value as Philippine currency (e.g. ₱1,234.56).
-     */
-    public static String formatCurrency(double value) {
+    // Largest amount whose centavos still fit exactly in a double
+    private static final double MAX_FIXED_POINT = 1e13;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+    private static final ThreadLocal<NumberFormat> FALLBACK_FORMAT = ThreadLocal.withInitial(() -> {
         NumberFormat formatter = NumberFormat.getNumberInstance(LOCALE_PH);
         formatter.setMinimumFractionDigits(2);
         formatter.setMaximumFractionDigits(2);
-        return PESO_SYMBOL + formatter.format(value);
+        return formatter;
+    });
+
+    /**
+     * Formats a double value as Philippine currency (e.g. ₱1,234.56), rounding half up to centavos.
+     */
+    public static String formatCurrency(double value) {
+        if (!Double.isFinite(value) || Math.abs(value) >= MAX_FIXED_POINT) {
+            return PESO_SYMBOL + FALLBACK_FORMAT.get().format(value);
+        }
+
+        long centavos = Math.round(Math.abs(value) * 100);
+        return formatCentavos(value < 0 ? -centavos : centavos);
+    }
+
+    /**
+     * Formats an exact amount as Philippine currency (e.g. ₱1,234.56).
+     */
+    public static String formatCurrency(Money amount) {
+        return formatCentavos(amount.centavos());
     }
 
     /**
@@ -52,7 +64,10 @@ public class AppFormatter {
      * Formats an integer with digit grouping (e.g. 1,000).
      */
     public static String formatNumber(int value) {
-        return NumberFormat.getIntegerInstance(LOCALE_PH).format(value);
+        StringBuilder sb = buffer();
+        if (value < 0) sb.append('-');
+        appendGrouped(sb, Math.abs((long) value));
+        return sb.toString();
     }
 
     /**
@@ -62,4 +77,45 @@ public class AppFormatter {
         return dateTime.format(DATE_FORMAT);
     }
 
+    /**
+     * Formats a LocalDateTime as date and time (e.g. July 24, 2025 02:15 PM).
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime.format(DATETIME_FORMAT);
+    }
+
+    // Writes ₱, the sign, grouped pesos and two decimals
+    private static String formatCentavos(long centavos) {
+        StringBuilder sb = buffer();
+        sb.append(PESO_SYMBOL);
+        if (centavos < 0) sb.append('-');
+        long magnitude = Math.abs(centavos);
+        appendGrouped(sb, magnitude / 100);
+        sb.append('.');
+        long fraction = magnitude % 100;
+        if (fraction < 10) sb.append('0');
+        sb.append(fraction);
+        return sb.toString();
+    }
+
+    // The calling thread's buffer, emptied
+    private static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    // Appends a non-negative number with a comma between every group of three digits
+    private static void appendGrouped(StringBuilder sb, long value) {
+        if (value < 1000) {
+            sb.append(value);
+            return;
+        }
+        appendGrouped(sb, value / 1000);
+        sb.append(',');
+        long group = value % 1000;
+        if (group < 100) sb.append('0');
+        if (group < 10) sb.append('0');
+        sb.append(group);
+    }
 }
@@ -0,0 +1,326 @@
+package DB;
+
+import Model.DAO.ProductDAO;
+import Model.POJO.CartItem;
+import Model.POJO.Product;
+import Model.Service.CheckoutService;
+import Model.Service.CheckoutService.CheckoutException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Command-line load test that runs concurrent checkouts against the configured database,
+ * the way several terminals would.
+ * <p>
+ * Usage: CheckoutLoadTest [key=value ...] with these keys (defaults in brackets):
+ *   "cashiers – concurrent cashiers, one virtual thread each [16]"
+ *   "seconds – how long to run [60]"
+ *   "basket – lines per cart: geometric:MEAN, fixed:N or uniform:MIN-MAX [geometric:3.2]"
+ *   "maxQty – largest quantity on a line [3]"
+ *   "hotProducts – size of the popular product set [20]"
+ *   "hotShare – fraction of lines drawn from the popular set [0.5]"
+ *   "seed – random seed [42]"
+ * <p>
+ * Every cashier calls {@link CheckoutService#checkout} in a loop, which is the transaction the
+ * sales screen commits. Deadlocks (1213), lock wait timeouts (1205) and other 40001 rollbacks are
+ * retried. At the end it reports throughput, latency percentiles and retry counts, then checks
+ * that every product's stock dropped by exactly the quantity its committed sale items recorded
+ * and that no stock went negative. Run it against a test database: sales are really committed,
+ * and other writers during the run would fail the stock check. With more cashiers than
+ * db.pool.maxSize, raise the pool size as well (e.g. -Ddb.pool.maxSize=32).
+ */
+public class CheckoutLoadTest {
+
+    private static final Logger logger = Logger.getLogger(CheckoutLoadTest.class.getName());
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int DEADLOCK = 1213;
+    private static final int LOCK_WAIT_TIMEOUT = 1205;
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                logger.severe("Expected key=value but got: " + arg);
+                System.exit(2);
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        int cashiers = Integer.parseInt(options.getOrDefault("cashiers", "16"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        Basket basket = Basket.parse(options.getOrDefault("basket", "geometric:3.2"));
+        int maxQty = Integer.parseInt(options.getOrDefault("maxQty", "3"));
+        int hotProducts = Integer.parseInt(options.getOrDefault("hotProducts", "20"));
+        double hotShare = Double.parseDouble(options.getOrDefault("hotShare", "0.5"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        // One INFO line per sale would drown the report
+        Logger.getLogger(CheckoutService.class.getName()).setLevel(Level.WARNING);
+
+        try {
+            JDBC.init();
+            boolean consistent = new CheckoutLoadTest(basket, maxQty, hotProducts, hotShare, seed)
+                    .run(cashiers, seconds);
+            System.exit(consistent ? 0 : 1);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Checkout load test failed", e);
+            System.exit(1);
+        }
+    }
+
+    private final Basket basket;
+    private final int maxQty;
+    private final int hotCount;
+    private final double hotShare;
+    private final SplittableRandom seedRandom;
+
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deadlocks = new AtomicLong();
+    private final AtomicLong lockWaitTimeouts = new AtomicLong();
+    private final AtomicLong otherRetries = new AtomicLong();
+
+    private List<Product> products;
+    private List<Product> hot;
+
+    private CheckoutLoadTest(Basket basket, int maxQty, int hotProducts, double hotShare, long seed) {
+        this.basket = basket;
+        this.maxQty = maxQty;
+        this.hotCount = hotProducts;
+        this.hotShare = hotShare;
+        this.seedRandom = new SplittableRandom(seed);
+    }
+
+    // Returns whether the stock check passed
+    private boolean run(int cashiers, int seconds) throws Exception {
+        products = ProductDAO.getAll().stream().filter(p -> p.getStock() > 0).toList();
+        if (products.isEmpty()) {
+            throw new IllegalStateException("No products in stock to sell.");
+        }
+        List<Product> shuffled = new ArrayList<>(products);
+        for (int i = shuffled.size() - 1; i > 0; i--) {
+            int j = seedRandom.nextInt(i + 1);
+            shuffled.set(j, shuffled.set(i, shuffled.get(j)));
+        }
+        hot = shuffled.subList(0, Math.min(hotCount, shuffled.size()));
+
+        Map<Integer, Integer> stockBefore = readStock();
+        int lastSaleIdBefore = readLastSaleId();
+
+        logger.info("Running " + cashiers + " cashiers for " + seconds + " s over " + products.size()
+                + " products (" + hot.size() + " popular)");
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<LatencyLog> latencies = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService cashierThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < cashiers; i++) {
+                SplittableRandom random = seedRandom.split();
+                LatencyLog log = new LatencyLog();
+                latencies.add(log);
+                cashierThreads.execute(() -> runCashier(random, deadline, log));
+            }
+        } // Waits for every cashier to finish
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        report(elapsed, latencies);
+        return checkStock(stockBefore, lastSaleIdBefore);
+    }
+
+    private void runCashier(SplittableRandom random, long deadline, LatencyLog log) {
+        while (System.nanoTime() < deadline) {
+            List<CartItem> cart = randomCart(random);
+            long start = System.nanoTime();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    CheckoutService.checkout(cart);
+                    committed.incrementAndGet();
+                    log.add(System.nanoTime() - start);
+                    break;
+                } catch (CheckoutException e) {
+                    rejected.incrementAndGet();
+                    break;
+                } catch (SQLException e) {
+                    if (!countRetry(e) || attempt == MAX_ATTEMPTS) {
+                        failed.incrementAndGet();
+                        logger.log(Level.WARNING, "Checkout failed after " + attempt + " attempt(s)", e);
+                        break;
+                    }
+                    // Back off a little so the competing transaction can finish
+                    try {
+                        Thread.sleep(random.nextLong(1, 10L << attempt));
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // Counts a retryable failure; returns false if the error should not be retried
+    private boolean countRetry(SQLException e) {
+        if (e.getErrorCode() == DEADLOCK) {
+            deadlocks.incrementAndGet();
+        } else if (e.getErrorCode() == LOCK_WAIT_TIMEOUT) {
+            lockWaitTimeouts.incrementAndGet();
+        } else if (SERIALIZATION_FAILURE.equals(e.getSQLState())) {
+            otherRetries.incrementAndGet();
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private List<CartItem> randomCart(SplittableRandom random) {
+        int lines = basket.lines(random);
+        List<CartItem> cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            List<Product> from = random.nextDouble() < hotShare ? hot : products;
+            Product product = from.get(random.nextInt(from.size()));
+            cart.add(new CartItem(product, random.nextInt(1, maxQty + 1)));
+        }
+        return cart;
+    }
+
+    private void report(double elapsedSeconds, List<LatencyLog> perCashier) {
+        long[] all = perCashier.stream().flatMapToLong(log -> Arrays.stream(log.toArray())).toArray();
+        Arrays.sort(all);
+
+        logger.info(String.format("Committed %d sales in %.1f s (%.1f sales/s); %d rejected for stock, %d failed",
+                committed.get(), elapsedSeconds, committed.get() / elapsedSeconds, rejected.get(), failed.get()));
+        logger.info(String.format("Latency ms: p50 %.1f, p95 %.1f, p99 %.1f, max %.1f",
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0)));
+        logger.info("Retries: " + deadlocks.get() + " deadlock(s), " + lockWaitTimeouts.get()
+                + " lock wait timeout(s), " + otherRetries.get() + " other rollback(s)");
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // Compares each product's stock change with the quantities sold since the run started
+    private boolean checkStock(Map<Integer, Integer> stockBefore, int lastSaleIdBefore) throws SQLException {
+        Map<Integer, Integer> stockAfter = readStock();
+        Map<Integer, Integer> sold = new HashMap<>();
+
+        String sql = "SELECT product_id, SUM(si_qty) FROM sale_item WHERE sale_id > ? GROUP BY product_id";
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, lastSaleIdBefore);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sold.put(rs.getInt(1), rs.getInt(2));
+                }
+            }
+        }
+
+        int mismatches = 0;
+        for (Map.Entry<Integer, Integer> entry : stockBefore.entrySet()) {
+            int id = entry.getKey();
+            int expected = entry.getValue() - sold.getOrDefault(id, 0);
+            int actual = stockAfter.getOrDefault(id, expected);
+            if (actual != expected || actual < 0) {
+                mismatches++;
+                logger.severe("Stock mismatch for product " + id + ": expected " + expected + ", found " + actual);
+            }
+        }
+
+        if (mismatches == 0) {
+            logger.info("Stock check passed for " + stockBefore.size() + " products");
+        }
+        return mismatches == 0;
+    }
+
+    private static Map<Integer, Integer> readStock() throws SQLException {
+        Map<Integer, Integer> stock = new HashMap<>();
+        try (Connection conn = JDBC.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT product_id, stock FROM product")) {
+            while (rs.next()) {
+                stock.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        return stock;
+    }
+
+    private static int readLastSaleId() throws SQLException {
+        try (Connection conn = JDBC.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(sale_id), 0) FROM sale")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Checkout latencies of one cashier, in nanoseconds
+    private static class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * How many lines a cart has.
+     */
+    private record Basket(String kind, double first, double second) {
+
+        static Basket parse(String spec) {
+            String[] parts = spec.split(":", 2);
+            String kind = parts[0];
+            String args = parts.length > 1 ? parts[1] : "";
+            return switch (kind) {
+                case "geometric" -> {
+                    double mean = Double.parseDouble(args);
+                    if (mean < 1) throw new IllegalArgumentException("Mean basket size must be at least 1: " + spec);
+                    yield new Basket(kind, mean, 0);
+                }
+                case "fixed" -> new Basket(kind, Integer.parseInt(args), 0);
+                case "uniform" -> {
+                    String[] range = args.split("-", 2);
+                    yield new Basket(kind, Integer.parseInt(range[0]), Integer.parseInt(range[1]));
+                }
+                default -> throw new IllegalArgumentException("Unknown basket: " + spec);
+            };
+        }
+
+        int lines(SplittableRandom random) {
+            return switch (kind) {
+                case "geometric" -> {
+                    // At least one line, with the given mean
+                    double p = 1 / first;
+                    yield 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+                }
+                case "fixed" -> (int) first;
+                default -> random.nextInt((int) first, (int) second + 1);
+            };
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package DB;
+
+import Monitoring.LatencyHistogram;
+import Monitoring.QueryTracing;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of physical MySQL connections shared by every DAO call.
+ * <p>
+ * Connections handed out by {@link #borrow()} are proxies: calling close() on them
+ * returns the physical connection to the pool instead of closing the socket.
+ * Idle connections above the minimum size are closed by a background reaper once
+ * they exceed the idle timeout, and a connection that has been idle for a while is
+ * validated before it is handed out again.
+ * <p>
+ * While queries are being recorded, each borrow is timed as one call of the borrowing
+ * method, from the start of the borrow until close(), and statements created on the
+ * connection are traced as query events (see {@link QueryTracing}).
+ */
+public class ConnectionPool {
+
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+    // Idle connections younger than this are handed out without validation
+    private static final long VALIDATION_INTERVAL_MS = 5_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+    private final String validationQuery;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private int totalConnections = 0;
+    private int waitingThreads = 0;
+    private boolean shutdown = false;
+
+    // Borrow-wait metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final LatencyHistogram waitHistogram = new LatencyHistogram();
+
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "connection-pool-reaper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long idleTimeoutMs, long borrowTimeoutMs, String validationQuery) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = Math.max(0, minSize);
+        this.maxSize = Math.max(1, Math.max(this.minSize, maxSize));
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.validationQuery = validationQuery;
+    }
+
+    /**
+     * Starts pre-filling the pool to its minimum size and reaping idle connections.
+     * Call once, after construction; borrowing works without it.
+     */
+    public void start() {
+        long reapInterval = Math.max(1_000, idleTimeoutMs / 2);
+        reaper.execute(this::prefill);
+        reaper.scheduleWithFixedDelay(this::reapIdle, reapInterval, reapInterval, TimeUnit.MILLISECONDS);
+        logger.info("Connection pool started (min=" + minSize + ", max=" + maxSize
+                + ", idleTimeoutMs=" + idleTimeoutMs + ")");
+    }
+
+    /**
+     * Hands out a pooled connection, waiting up to the borrow timeout when the pool
+     * is exhausted. Closing the returned connection gives it back to the pool.
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+        Connection physical = null;
+
+        while (physical == null) {
+            boolean create = false;
+            IdleConnection candidate = null;
+
+            lock.lock();
+            try {
+                while (!shutdown && idle.isEmpty() && totalConnections >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new SQLException("Timed out after " + borrowTimeoutMs
+                                + " ms waiting for a pooled connection (max=" + maxSize + ").");
+                    }
+                    waitingThreads++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a pooled connection.", e);
+                    } finally {
+                        waitingThreads--;
+                    }
+                }
+                if (shutdown) {
+                    throw new SQLException("Connection pool has been shut down.");
+                }
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                } else {
+                    totalConnections++;
+                    create = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                physical = openPhysical();
+            } else if (isUsable(candidate)) {
+                physical = candidate.connection;
+            } else {
+                discard(candidate.connection);
+            }
+        }
+
+        long waitNanos = System.nanoTime() - start;
+        recordWait(waitNanos);
+        return wrap(physical, QueryTracing.begin(start, waitNanos));
+    }
+
+    /**
+     * Closes all idle connections and rejects further borrows. Connections that are
+     * currently borrowed are closed when they are returned.
+     */
+    public void shutdown() {
+        reaper.shutdownNow();
+        lock.lock();
+        try {
+            shutdown = true;
+            for (IdleConnection ic : idle) {
+                closeQuietly(ic.connection);
+                totalConnections--;
+            }
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Connection pool shut down. " + getStats());
+    }
+
+    /**
+     * Returns a one-line summary of pool size and borrow-wait metrics.
+     */
+    public String getStats() {
+        long borrows = borrowCount.get();
+        double avgWaitMs = borrows == 0 ? 0.0 : totalWaitNanos.get() / (double) borrows / 1_000_000.0;
+        return String.format("pool[total=%d, idle=%d, waiting=%d, created=%d, borrows=%d, avgWaitMs=%.3f, maxWaitMs=%.3f, timeouts=%d]",
+                getTotalCount(), getIdleCount(), getWaitingCount(), createdCount.get(), borrows,
+                avgWaitMs, maxWaitNanos.get() / 1_000_000.0, timeoutCount.get());
+    }
+
+    public int getTotalCount() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaitingCount() {
+        lock.lock();
+        try {
+            return waitingThreads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.get();
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Returns the distribution of borrow waits, for percentiles beyond the average and maximum.
+     */
+    public LatencyHistogram getWaitHistogram() {
+        return waitHistogram;
+    }
+
+    // Opens a new physical connection; the slot was already reserved by the caller
+    private Connection openPhysical() throws SQLException {
+        try {
+            Connection conn = DriverManager.getConnection(url, user, password);
+            createdCount.incrementAndGet();
+            logger.info("Database connection established.");
+            return conn;
+        } catch (SQLException e) {
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    // Skips validation for connections that were returned only moments ago
+    private boolean isUsable(IdleConnection candidate) {
+        if (System.currentTimeMillis() - candidate.returnedAt < VALIDATION_INTERVAL_MS) {
+            return true;
+        }
+        Connection conn = candidate.connection;
+        try {
+            if (validationQuery == null || validationQuery.isBlank()) {
+                return conn.isValid(2);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.setQueryTimeout(2);
+                stmt.execute(validationQuery);
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Pooled connection failed validation; discarding it.", e);
+            return false;
+        }
+    }
+
+    // Called when a borrowed proxy is closed
+    private void giveBack(Connection physical) {
+        boolean reusable;
+        try {
+            reusable = !physical.isClosed();
+            if (reusable && !physical.getAutoCommit()) {
+                // Never hand out a connection with an open transaction
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to reset pooled connection; discarding it.", e);
+            reusable = false;
+        }
+
+        if (!reusable) {
+            discard(physical);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (shutdown) {
+                closeQuietly(physical);
+                totalConnections--;
+                return;
+            }
+            idle.addFirst(new IdleConnection(physical, System.currentTimeMillis()));
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(Connection physical) {
+        closeQuietly(physical);
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Opens connections in the background until the minimum size is reached
+    private void prefill() {
+        while (true) {
+            lock.lock();
+            try {
+                if (shutdown || totalConnections >= minSize) return;
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                giveBack(openPhysical());
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Failed to pre-fill connection pool.", e);
+                return;
+            }
+        }
+    }
+
+    // Closes connections idle longer than the timeout while staying above the minimum size
+    private void reapIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        Deque<Connection> expired = new ArrayDeque<>();
+
+        lock.lock();
+        try {
+            // The oldest idle connections sit at the tail of the deque
+            Iterator<IdleConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections - expired.size() > minSize) {
+                IdleConnection ic = it.next();
+                if (ic.returnedAt > cutoff) break;
+                it.remove();
+                expired.add(ic.connection);
+            }
+            totalConnections -= expired.size();
+        } finally {
+            lock.unlock();
+        }
+
+        expired.forEach(this::closeQuietly);
+        if (!expired.isEmpty()) {
+            logger.fine("Closed " + expired.size() + " idle connection(s). " + getStats());
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        waitHistogram.record(waitNanos);
+    }
+
+    private void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error closing physical connection.", e);
+        }
+    }
+
+    // Wraps a physical connection so close() returns it to the pool
+    private Connection wrap(Connection physical, QueryTracing.Call call) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnectionHandler(physical, call));
+    }
+
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final Connection physical;
+        private final QueryTracing.Call call; // Null unless queries are being recorded
+        private boolean closed = false;
+
+        PooledConnectionHandler(Connection physical, QueryTracing.Call call) {
+            this.physical = physical;
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        if (call != null) call.end();
+                        giveBack(physical);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physical + (closed ? ", returned" : "") + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                }
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return QueryTracing.trace(statement, method.getReturnType(), sql, call);
+            }
+            return result;
+        }
+    }
+
+    private static final class IdleConnection {
+        final Connection connection;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, long returnedAt) {
+            this.connection = connection;
+            this.returnedAt = returnedAt;
+        }
+    }
+}
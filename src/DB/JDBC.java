@@ -1,8 +1,14 @@
 package DB;
 
+import Model.POJO.Money;
+import Monitoring.MetricsRegistry;
+import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.Properties;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -10,7 +16,7 @@ import java.io.InputStream;
 import java.io.IOException;
 
 /**
- * Provides a utility method to establish a database connection using properties
+ * Provides a utility method to obtain a database connection using properties
  * loaded from a configuration file.
  * <p>
  * The configuration file "config.properties"> must be located in the
@@ -18,12 +24,26 @@ import java.io.IOException;
  *   "db.url – JDBC URL for the database"
  *   "db.user – database username"
  *   "db.password – database password"
+ * <p>
+ * Connections are served from a bounded {@link ConnectionPool}; closing a connection
+ * returns it to the pool. The pool can be tuned with these optional keys:
+ *   "db.pool.minSize – connections kept open while idle (default 2)"
+ *   "db.pool.maxSize – upper bound on open connections (default 10)"
+ *   "db.pool.idleTimeoutMs – idle time before a spare connection is closed (default 300000)"
+ *   "db.pool.borrowTimeoutMs – how long connect() waits when the pool is exhausted (default 10000)"
+ *   "db.pool.validationQuery – query used to validate idle connections (default SELECT 1)"
+ * Any key can be overridden with a JVM system property of the same name.
+ * <p>
+ * Pending schema migrations (see {@link SchemaMigrator}) are applied by {@link #init()}, which
+ * every entry point calls once at startup before using any DAO.
  */
 public class JDBC {
 
     private static final Logger logger = Logger.getLogger(JDBC.class.getName());
     private static final Properties config = new Properties();
     private static boolean configLoaded = false;
+    private static ConnectionPool pool;
+    private static boolean initialized = false;
 
     // Static initializer block: loads database configuration once
     static {
@@ -38,34 +58,144 @@ public class JDBC {
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Error loading database configuration.", e);
         }
+        pool = createPool();
+    }
+
+    /**
+     * Applies pending schema migrations. May block for a long time (waiting for another
+     * terminal's migration), so call it off the FX thread. Throws if the
+     * configuration is incomplete or a migration fails; the application must not continue then,
+     * since DAOs rely on the migrated schema. Later calls return at once.
+     */
+    public static synchronized void init() throws SQLException {
+        if (initialized) return;
+        if (pool == null) {
+            throw new SQLException("Database configuration is missing or incomplete (see DB/config.properties).");
+        }
+        try (Connection conn = pool.borrow()) {
+            SchemaMigrator.migrate(conn);
+        }
+        initialized = true;
     }
 
     /**
-     * Establishes a database connection using the credentials and URL defined in
-     * the loaded configuration.
+     * Borrows a connection from the pool using the credentials and URL defined in
+     * the loaded configuration. Returns null if no connection could be obtained.
      */
     public static Connection connect() {
-        if (!configLoaded) {
+        if (pool == null) {
             logger.warning("Database configuration not loaded. Aborting connection attempt.");
             return null;
         }
 
-        String url = config.getProperty("db.url");
-        String user = config.getProperty("db.user");
-        String password = config.getProperty("db.password");
-
-        if (url == null || user == null || password == null) {
-            logger.severe("Missing required database connection properties.");
+        try {
+            return pool.borrow();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Database connection failed.", e);
             return null;
         }
+    }
 
+    /**
+     * Binds a half-open day range [from, toExclusive) as two timestamp parameters starting at
+     * the given index. Used with predicates like "col >= ? AND col < ?" so MySQL can range-scan
+     * an index on the column instead of evaluating DATE(col) for every row.
+     */
+    public static void setDateRange(PreparedStatement stmt, int index, LocalDate from, LocalDate toExclusive) throws SQLException {
+        stmt.setTimestamp(index, Timestamp.valueOf(from.atStartOfDay()));
+        stmt.setTimestamp(index + 1, Timestamp.valueOf(toExclusive.atStartOfDay()));
+    }
+
+    /**
+     * Reads a DECIMAL money column as exact centavos. SQL NULL (e.g. SUM over no rows) reads as zero.
+     */
+    public static Money getMoney(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? Money.of(value) : Money.ZERO;
+    }
+
+    /**
+     * Reads a DECIMAL money column by position. SQL NULL reads as zero.
+     */
+    public static Money getMoney(ResultSet rs, int column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? Money.of(value) : Money.ZERO;
+    }
+
+    /**
+     * Binds a money amount as an exact DECIMAL parameter.
+     */
+    public static void setMoney(PreparedStatement stmt, int index, Money amount) throws SQLException {
+        stmt.setBigDecimal(index, amount.toBigDecimal());
+    }
+
+    /**
+     * Returns the shared connection pool, or null if the configuration is missing.
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns a configuration value, preferring a JVM system property over config.properties.
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = config.getProperty(key);
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Returns a numeric configuration value, falling back to the default if missing or invalid.
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) return defaultValue;
         try {
-            Connection conn = DriverManager.getConnection(url, user, password);
-            logger.info("Database connection established.");
-            return conn;
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Database connection failed.", e);
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warning("Invalid number for " + key + ": " + value + ". Using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    // Builds the pool from configuration; returns null if required keys are missing
+    private static ConnectionPool createPool() {
+        String url = getProperty("db.url", null);
+        String user = getProperty("db.user", null);
+        String password = System.getProperty("db.password", config.getProperty("db.password"));
+
+        if (url == null || user == null || password == null) {
+            if (configLoaded) {
+                logger.severe("Missing required database connection properties.");
+            }
             return null;
         }
+
+        ConnectionPool created = new ConnectionPool(
+                url, user, password,
+                (int) getLongProperty("db.pool.minSize", 2),
+                (int) getLongProperty("db.pool.maxSize", 10),
+                getLongProperty("db.pool.idleTimeoutMs", 300_000),
+                getLongProperty("db.pool.borrowTimeoutMs", 10_000),
+                getProperty("db.pool.validationQuery", "SELECT 1")
+        );
+        created.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(created::shutdown, "connection-pool-shutdown"));
+        registerPoolMetrics(created);
+        return created;
+    }
+
+    // Pool gauges, read only when metrics are published (see Monitoring.MetricsReporter)
+    private static void registerPoolMetrics(ConnectionPool pool) {
+        MetricsRegistry.gauge("atarisync_pool_connections", pool::getTotalCount, "state", "open");
+        MetricsRegistry.gauge("atarisync_pool_connections", pool::getIdleCount, "state", "idle");
+        MetricsRegistry.gauge("atarisync_pool_waiting_threads", pool::getWaitingCount);
+        MetricsRegistry.counter("atarisync_pool_borrows_total", pool::getBorrowCount);
+        MetricsRegistry.counter("atarisync_pool_timeouts_total", pool::getTimeoutCount);
+        MetricsRegistry.register("atarisync_pool_wait_seconds", pool.getWaitHistogram());
     }
 }
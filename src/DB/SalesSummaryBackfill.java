@@ -0,0 +1,51 @@
+package DB;
+
+import Model.Cache.MetricsCache;
+import Model.DAO.SalesSummaryDAO;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fills the daily sales rollups for the history that existed before they were introduced.
+ * <p>
+ * Schema migration 6 only registers the pending range, so the migration lock is never held
+ * for a long backfill. After startup this runs in the background and rebuilds one month per
+ * transaction until the range is done; checkouts in that month wait for at most one month's
+ * rebuild. Several terminals may run it at once and simply take turns on the next month.
+ * Progress is stored in the database, so an interrupted backfill resumes on the next startup.
+ */
+public class SalesSummaryBackfill {
+
+    private static final Logger logger = Logger.getLogger(SalesSummaryBackfill.class.getName());
+
+    private static Thread worker;
+
+    /**
+     * Starts working off the pending backfill in the background. Calling it again has no effect.
+     */
+    public static synchronized void start() {
+        if (worker != null) return;
+
+        worker = new Thread(SalesSummaryBackfill::run, "sales-summary-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Each rebuilt month is logged by SalesSummaryDAO
+    private static void run() {
+        try {
+            boolean more = true;
+            while (more) {
+                try (Connection conn = JDBC.connect()) {
+                    if (conn == null) throw new SQLException("No database connection available.");
+                    more = SalesSummaryDAO.backfillNextMonth(conn);
+                }
+                MetricsCache.invalidateAll(); // Dashboards may show the newly filled days
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Sales summary backfill stopped; it resumes on the next startup", e);
+        }
+    }
+}
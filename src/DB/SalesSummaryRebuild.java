@@ -0,0 +1,31 @@
+package DB;
+
+import Model.DAO.SalesSummaryDAO;
+import java.time.LocalDate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Command-line entry point that recomputes the daily sales rollups from the sale tables.
+ * <p>
+ * Usage: SalesSummaryRebuild [from [toExclusive]], with dates as yyyy-MM-dd.
+ * Without arguments the whole history is rebuilt; with only a start date the range runs to today.
+ */
+public class SalesSummaryRebuild {
+
+    private static final Logger logger = Logger.getLogger(SalesSummaryRebuild.class.getName());
+
+    public static void main(String[] args) {
+        LocalDate from = args.length > 0 ? LocalDate.parse(args[0]) : null;
+        LocalDate to = args.length > 1 ? LocalDate.parse(args[1])
+                : from != null ? LocalDate.now().plusDays(1) : null;
+
+        try {
+            JDBC.init();
+            SalesSummaryDAO.rebuild(from, to);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Sales summary rebuild failed", e);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package DB;
+
+import Model.DAO.ProductChangeDAO;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Applies versioned schema changes to the configured database.
+ * <p>
+ * Each migration has a version number and runs at most once; applied versions are
+ * recorded in the schema_version table. {@link JDBC#init()} runs the migrator, so every
+ * terminal brings the schema up to date on startup.
+ * A MySQL named lock keeps two terminals from migrating at the same time.
+ */
+public class SchemaMigrator {
+
+    private static final Logger logger = Logger.getLogger(SchemaMigrator.class.getName());
+
+    private static final String LOCK_NAME = "atarisync_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final List<String> CHANGE_TRIGGER_EVENTS = List.of("INSERT", "UPDATE", "DELETE");
+    // Missing TRIGGER privilege, or SUPER / log_bin_trust_function_creators with binary logging on
+    private static final Set<Integer> PRIVILEGE_ERRORS = Set.of(1044, 1142, 1227, 1419);
+
+    // Ordered list of all migrations; append new ones with the next version number
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Index date and foreign key columns used by reports", conn -> {
+                ensureIndex(conn, "sale", "idx_sale_date", "sale_date");
+                ensureIndex(conn, "sale_item", "idx_sale_item_sale_id", "sale_id");
+                ensureIndex(conn, "sale_item", "idx_sale_item_si_date", "si_date");
+                ensureIndex(conn, "product", "idx_product_category_id", "category_id");
+            }),
+            new Migration(2, "Track product modification time for incremental catalog refresh", conn -> {
+                ensureColumn(conn, "product", "updated_at",
+                        "TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)");
+                ensureIndex(conn, "product", "idx_product_updated_at", "updated_at");
+            }),
+            new Migration(3, "Log product changes for catalog sync between terminals", conn -> {
+                // The triggers are created by ensureChangeTriggers after every migration run
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS product_change (
+                            change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                            product_id INT NOT NULL,
+                            changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+                            INDEX idx_product_change_changed_at (changed_at)
+                        )
+                    """);
+                }
+            }),
+            new Migration(4, "Add daily sales rollups", conn -> {
+                // Filled by the backfill registered in migration 6, outside the migration lock
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS daily_sales_summary (
+                            summary_date DATE PRIMARY KEY,
+                            sale_count INT NOT NULL DEFAULT 0,
+                            total_qty INT NOT NULL DEFAULT 0,
+                            total_revenue DECIMAL(14,2) NOT NULL DEFAULT 0
+                        )
+                    """);
+                    stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS daily_product_summary (
+                            summary_date DATE NOT NULL,
+                            category_id INT NOT NULL,
+                            product_id INT NOT NULL,
+                            sale_count INT NOT NULL DEFAULT 0,
+                            total_qty INT NOT NULL DEFAULT 0,
+                            total_revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+                            PRIMARY KEY (summary_date, category_id, product_id),
+                            INDEX idx_daily_product_summary_product (product_id, summary_date)
+                        )
+                    """);
+                }
+            }),
+            new Migration(5, "Add product SKU for barcode lookup", conn -> {
+                ensureColumn(conn, "product", "sku", "VARCHAR(64) NULL");
+                ensureIndex(conn, "product", "uq_product_sku", "sku", true);
+            }),
+            new Migration(6, "Register the sales rollup backfill", conn -> {
+                // Worked off a month at a time by SalesSummaryBackfill after startup, up to the day
+                // after this migration; checkout records every later sale itself
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS sales_summary_backfill (
+                            id TINYINT PRIMARY KEY,
+                            next_day DATE NULL,
+                            end_day DATE NOT NULL
+                        )
+                    """);
+                    stmt.execute("""
+                        INSERT INTO sales_summary_backfill (id, next_day, end_day)
+                        SELECT 1, DATE(MIN(sale_date)), CURRENT_DATE + INTERVAL 1 DAY FROM sale
+                        ON DUPLICATE KEY UPDATE id = id
+                    """);
+                }
+            }),
+            new Migration(7, "Record each sale item's category at sale time", conn -> {
+                // Older items are filled in by the rollup rebuild when it reaches their month
+                ensureColumn(conn, "sale_item", "si_category_id", "INT NULL");
+            })
+    );
+
+    /**
+     * Brings the schema up to the latest version using the given connection.
+     */
+    public static void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(255) NOT NULL,
+                    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+        }
+
+        acquireLock(conn);
+        try {
+            int current = getCurrentVersion(conn);
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() <= current) continue;
+
+                logger.info("Applying schema migration " + migration.version() + ": " + migration.description());
+                migration.step().apply(conn);
+                recordVersion(conn, migration);
+            }
+            ProductChangeDAO.setLoggedByTriggers(ensureChangeTriggers(conn));
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    /**
+     * Returns the highest applied migration version, or 0 if none were applied.
+     */
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Creates the triggers that fill product_change, unless they already exist. Returns false,
+     * with a warning naming the missing privilege, if the database user may not create them;
+     * product writes are then logged by ProductDAO instead. Retried on every startup, so
+     * granting the privilege later switches back to the triggers.
+     */
+    private static boolean ensureChangeTriggers(Connection conn) throws SQLException {
+        String countSql = """
+            SELECT COUNT(*) FROM information_schema.TRIGGERS
+            WHERE TRIGGER_SCHEMA = DATABASE() AND EVENT_OBJECT_TABLE = 'product' AND TRIGGER_NAME LIKE 'trg_product_after_%'
+        """;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(countSql)) {
+            if (rs.next() && rs.getInt(1) == CHANGE_TRIGGER_EVENTS.size()) return true;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String event : CHANGE_TRIGGER_EVENTS) {
+                String row = event.equals("DELETE") ? "OLD" : "NEW";
+                String trigger = "trg_product_after_" + event.toLowerCase();
+                stmt.execute("DROP TRIGGER IF EXISTS " + trigger);
+                stmt.execute("CREATE TRIGGER " + trigger + " AFTER " + event + " ON product FOR EACH ROW "
+                        + "INSERT INTO product_change (product_id) VALUES (" + row + ".product_id)");
+            }
+            logger.info("Created product change log triggers");
+            return true;
+        } catch (SQLException e) {
+            if (!PRIVILEGE_ERRORS.contains(e.getErrorCode())) throw e;
+            logger.warning("Cannot create product change log triggers: " + e.getMessage()
+                    + ". Grant the TRIGGER privilege (and SUPER, or set log_bin_trust_function_creators=1"
+                    + " when binary logging is on) to sync changes made outside this application."
+                    + " Until then the application logs its own product writes.");
+            return false;
+        }
+    }
+
+    // Adds the column unless the table already has it
+    private static void ensureColumn(Connection conn, String table, String column, String definition) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, table, column)) {
+            if (rs.next()) {
+                logger.info("Column " + table + "." + column + " already exists");
+                return;
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            logger.info("Added column " + table + "." + column);
+        }
+    }
+
+    // Creates the index unless the table already has an index starting with the column
+    private static void ensureIndex(Connection conn, String table, String indexName, String column) throws SQLException {
+        ensureIndex(conn, table, indexName, column, false);
+    }
+
+    private static void ensureIndex(Connection conn, String table, String indexName, String column, boolean unique)
+            throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (rs.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    logger.info("Index on " + table + "(" + column + ") already exists: " + rs.getString("INDEX_NAME"));
+                    return;
+                }
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE " + (unique ? "UNIQUE " : "") + "INDEX " + indexName + " ON " + table + " (" + column + ")");
+            logger.info("Created index " + indexName + " on " + table + "(" + column + ")");
+        }
+    }
+
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock.");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private record Migration(int version, String description, Step step) {}
+}
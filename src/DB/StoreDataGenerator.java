@@ -0,0 +1,357 @@
+package DB;
+
+import Model.DAO.SalesSummaryDAO;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Command-line entry point that fills the configured database with synthetic store history
+ * for scale testing.
+ * <p>
+ * Usage: StoreDataGenerator [key=value ...] with these keys (defaults in brackets):
+ *   "seed – random seed [42]"
+ *   "categories – categories to create [40]"
+ *   "products – products to create [20000]"
+ *   "years – years of sales history, ending on the end date [3]"
+ *   "end – last day of sales history, as yyyy-MM-dd [yesterday]"
+ *   "salesPerDay – average sales on an ordinary day [3000]"
+ * The defaults write about 3.7 million sales with 12 million sale items.
+ * <p>
+ * The data is reproducible only with a fixed end date: the same seed, sizes and end give the
+ * same rows, while the default end moves every day and shifts the weekday, payday and holiday
+ * pattern of the whole range.
+ * <p>
+ * Product popularity follows a Zipf distribution, sales cluster around lunch and early evening,
+ * weekends, paydays (15th and month end) and holidays are busier, and basket sizes are geometric.
+ * New rows are appended after the highest existing IDs, written with multi-row INSERTs and
+ * committed in batches; the daily sales rollups are rebuilt for the generated range at the end.
+ */
+public class StoreDataGenerator {
+
+    private static final Logger logger = Logger.getLogger(StoreDataGenerator.class.getName());
+
+    private static final int ROWS_PER_INSERT = 1_000;
+    private static final int SALES_PER_COMMIT = 10_000;
+
+    private static final double ZIPF_EXPONENT = 1.07;
+    private static final double MEAN_EXTRA_LINES = 2.2;
+    private static final int OPENING_HOUR = 8;
+    // Relative traffic for each hour from opening (08:00) to closing (22:00)
+    private static final double[] HOUR_WEIGHTS = {3, 5, 6, 8, 11, 10, 7, 6, 7, 9, 11, 10, 7, 4};
+
+    private static final Map<MonthDay, Double> HOLIDAY_FACTORS = Map.of(
+            MonthDay.of(1, 1), 0.4,
+            MonthDay.of(2, 14), 1.5,
+            MonthDay.of(11, 1), 0.6,
+            MonthDay.of(12, 23), 2.2,
+            MonthDay.of(12, 24), 2.5,
+            MonthDay.of(12, 25), 0.5,
+            MonthDay.of(12, 30), 1.8,
+            MonthDay.of(12, 31), 2.0
+    );
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                logger.severe("Expected key=value but got: " + arg);
+                System.exit(2);
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int categories = Integer.parseInt(options.getOrDefault("categories", "40"));
+        int products = Integer.parseInt(options.getOrDefault("products", "20000"));
+        int years = Integer.parseInt(options.getOrDefault("years", "3"));
+        int salesPerDay = Integer.parseInt(options.getOrDefault("salesPerDay", "3000"));
+        LocalDate lastDay = options.containsKey("end")
+                ? LocalDate.parse(options.get("end"))
+                : LocalDate.now().minusDays(1);
+
+        try {
+            JDBC.init();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Database startup failed", e);
+            System.exit(1);
+        }
+
+        try (Connection conn = JDBC.connect()) {
+            if (conn == null) {
+                logger.severe("Connection is null. Check DB credentials or server status.");
+                System.exit(1);
+            }
+            new StoreDataGenerator(conn, new SplittableRandom(seed)).generate(categories, products, years, lastDay, salesPerDay);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Store data generation failed", e);
+            System.exit(1);
+        }
+    }
+
+    private final Connection conn;
+    private final SplittableRandom random;
+
+    private int[] productIds;
+    private long[] priceCentavos;
+    private double[] popularity;
+
+    private StoreDataGenerator(Connection conn, SplittableRandom random) {
+        this.conn = conn;
+        this.random = random;
+    }
+
+    private void generate(int categories, int products, int years, LocalDate lastDay, int salesPerDay) throws SQLException {
+        long start = System.nanoTime();
+        LocalDate firstDay = lastDay.minusYears(years).plusDays(1);
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            // Rows get explicit IDs after the existing ones, so skip per-row checks while loading
+            stmt.execute("SET foreign_key_checks = 0, unique_checks = 0");
+            try {
+                int firstCategoryId = maxId("category", "category_id") + 1;
+                insertCategories(firstCategoryId, categories);
+                insertProducts(firstCategoryId, categories, products);
+                long items = insertSales(firstDay, lastDay, salesPerDay);
+                logger.info("Generated " + items + " sale items in " + (System.nanoTime() - start) / 1_000_000_000 + " s");
+            } finally {
+                stmt.execute("SET foreign_key_checks = 1, unique_checks = 1");
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        SalesSummaryDAO.rebuild(conn, firstDay, lastDay.plusDays(1));
+        logger.info("Store data ready after " + (System.nanoTime() - start) / 1_000_000_000 + " s");
+    }
+
+    private void insertCategories(int firstId, int count) throws SQLException {
+        try (RowBatch batch = new RowBatch("category", "category_id", "category_name")) {
+            for (int i = 0; i < count; i++) {
+                int id = firstId + i;
+                batch.add(id, "Category " + id);
+            }
+        }
+        conn.commit();
+    }
+
+    private void insertProducts(int firstCategoryId, int categories, int count) throws SQLException {
+        int firstId = maxId("product", "product_id") + 1;
+        productIds = new int[count];
+        priceCentavos = new long[count];
+
+        try (RowBatch batch = new RowBatch("product",
+                "product_id", "category_id", "product_name", "description", "product_price", "stock")) {
+            for (int i = 0; i < count; i++) {
+                int id = firstId + i;
+                // Squaring skews products towards the first categories, like a real assortment
+                double u = random.nextDouble();
+                int categoryId = firstCategoryId + (int) (u * u * categories);
+                // Log-normal prices around ₱80, rounded to 25 centavos
+                long price = Math.max(500, Math.round(Math.exp(4.4 + 1.1 * gaussian()) * 4) * 25);
+
+                productIds[i] = id;
+                priceCentavos[i] = price;
+                batch.add(id, categoryId, "Product " + id, "Generated product " + id,
+                        BigDecimal.valueOf(price, 2), random.nextInt(0, 300));
+            }
+        }
+        conn.commit();
+
+        // Popularity rank is independent of ID; cumulative weights for binary search
+        int[] rankOf = new int[count];
+        for (int i = 0; i < count; i++) rankOf[i] = i;
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = rankOf[i];
+            rankOf[i] = rankOf[j];
+            rankOf[j] = tmp;
+        }
+        popularity = new double[count];
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += 1 / Math.pow(rankOf[i] + 1, ZIPF_EXPONENT);
+            popularity[i] = total;
+        }
+    }
+
+    // Returns the number of sale items written
+    private long insertSales(LocalDate firstDay, LocalDate lastDay, int salesPerDay) throws SQLException {
+        int saleId = maxId("sale", "sale_id");
+        int sinceCommit = 0;
+        long items = 0;
+
+        double[] hourCumulative = new double[HOUR_WEIGHTS.length];
+        double hourTotal = 0;
+        for (int h = 0; h < HOUR_WEIGHTS.length; h++) {
+            hourTotal += HOUR_WEIGHTS[h];
+            hourCumulative[h] = hourTotal;
+        }
+
+        try (RowBatch sales = new RowBatch("sale", "sale_id", "sale_date", "sale_qty", "total_amount");
+             RowBatch saleItems = new RowBatch("sale_item", "sale_id", "product_id", "si_qty", "si_price", "si_date")) {
+
+            for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                int count = (int) Math.round(salesPerDay * dayFactor(day) * (0.9 + 0.2 * random.nextDouble()));
+
+                // Seconds after midnight, sorted so sale IDs follow time like real checkouts
+                int[] times = new int[count];
+                for (int i = 0; i < count; i++) {
+                    int hour = Arrays.binarySearch(hourCumulative, random.nextDouble() * hourTotal);
+                    hour = hour < 0 ? -hour - 1 : hour;
+                    times[i] = (OPENING_HOUR + hour) * 3600 + random.nextInt(3600);
+                }
+                Arrays.sort(times);
+
+                for (int time : times) {
+                    saleId++;
+                    Timestamp saleDate = Timestamp.valueOf(day.atStartOfDay().plusSeconds(time));
+
+                    int lines = 1 + geometric(MEAN_EXTRA_LINES);
+                    int saleQty = 0;
+                    long total = 0;
+                    for (int line = 0; line < lines; line++) {
+                        int product = pickProduct();
+                        int qty = random.nextInt(10) < 8 ? 1 : random.nextInt(2, 5);
+                        saleQty += qty;
+                        total += priceCentavos[product] * qty;
+                        saleItems.add(saleId, productIds[product], qty, BigDecimal.valueOf(priceCentavos[product], 2), saleDate);
+                    }
+                    items += lines;
+                    sales.add(saleId, saleDate, saleQty, BigDecimal.valueOf(total, 2));
+
+                    if (++sinceCommit == SALES_PER_COMMIT) {
+                        sales.flush();
+                        saleItems.flush();
+                        conn.commit();
+                        sinceCommit = 0;
+                    }
+                }
+
+                if (day.getDayOfMonth() == 1) {
+                    logger.info("Generated sales up to " + day + " (" + items + " items)");
+                }
+            }
+
+            sales.flush();
+            saleItems.flush();
+            conn.commit();
+        }
+        return items;
+    }
+
+    // Busier weekends, paydays and December; quieter or busier fixed holidays
+    private static double dayFactor(LocalDate day) {
+        double factor = 1.0;
+        DayOfWeek weekday = day.getDayOfWeek();
+        if (weekday == DayOfWeek.SATURDAY) factor *= 1.35;
+        if (weekday == DayOfWeek.SUNDAY) factor *= 1.2;
+        if (day.getDayOfMonth() == 15 || day.getDayOfMonth() == day.lengthOfMonth()) factor *= 1.4;
+        if (day.getMonthValue() == 12) factor *= 1.0 + day.getDayOfMonth() / 40.0;
+        return factor * HOLIDAY_FACTORS.getOrDefault(MonthDay.from(day), 1.0);
+    }
+
+    // Index into productIds drawn by Zipf popularity
+    private int pickProduct() {
+        double target = random.nextDouble() * popularity[popularity.length - 1];
+        int index = Arrays.binarySearch(popularity, target);
+        return index < 0 ? Math.min(-index - 1, popularity.length - 1) : index;
+    }
+
+    // Number of failures before the first success, with the given mean
+    private int geometric(double mean) {
+        double p = 1 / (mean + 1);
+        return (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    // Standard normal sample (Box-Muller)
+    private double gaussian() {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private int maxId(String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Buffers rows for one table and writes them ROWS_PER_INSERT at a time with a single
+     * multi-row INSERT. Closing it writes the remaining rows without committing.
+     */
+    private class RowBatch implements AutoCloseable {
+        private final String table;
+        private final String[] columns;
+        private final Object[] values;
+        private PreparedStatement fullInsert;
+        private int rows;
+
+        RowBatch(String table, String... columns) {
+            this.table = table;
+            this.columns = columns;
+            this.values = new Object[ROWS_PER_INSERT * columns.length];
+        }
+
+        void add(Object... row) throws SQLException {
+            System.arraycopy(row, 0, values, rows * columns.length, columns.length);
+            if (++rows == ROWS_PER_INSERT) flush();
+        }
+
+        void flush() throws SQLException {
+            if (rows == 0) return;
+            if (rows == ROWS_PER_INSERT) {
+                if (fullInsert == null) fullInsert = conn.prepareStatement(insertSql(rows));
+                execute(fullInsert);
+            } else {
+                try (PreparedStatement partial = conn.prepareStatement(insertSql(rows))) {
+                    execute(partial);
+                }
+            }
+            rows = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                if (fullInsert != null) fullInsert.close();
+            }
+        }
+
+        private void execute(PreparedStatement stmt) throws SQLException {
+            for (int i = 0; i < rows * columns.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            stmt.executeUpdate();
+        }
+
+        private String insertSql(int rowCount) {
+            String row = "(" + "?,".repeat(columns.length - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                if (i > 0) sql.append(',');
+                sql.append(row);
+            }
+            return sql.toString();
+        }
+    }
+}
@@ -3,7 +3,10 @@ package Dialogs;
 import Model.DAO.CategoryDAO;
 import Model.DAO.ProductDAO;
 import Model.POJO.Category;
+import Model.POJO.Money;
 import Model.POJO.Product;
+import Pages.AsyncLoader;
+import Pages.SearchPipeline;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -13,7 +16,11 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * Displays a modal dialog to add or edit inventory products.
@@ -44,10 +51,16 @@ public class InventoryDialog {
         nameField.setPrefSize(400, 36);
         nameField.getStyleClass().add("dialog-pane");
 
+        TextField skuField = new TextField();
+        skuField.setPromptText("SKU / Barcode (optional)");
+        skuField.setPrefSize(400, 36);
+        skuField.getStyleClass().add("dialog-pane");
+
         AtomicBoolean isInitializing = new AtomicBoolean(true);
 
         CategoryDAO categoryDAO = new CategoryDAO();
-        ObservableList<String> categoryNames = FXCollections.observableArrayList(CategoryDAO.getAllCategoryNames());
+        ObservableList<String> categoryNames = FXCollections.observableArrayList();
+        AsyncLoader.load(dialogBox, CategoryDAO::getAllCategoryNames, categoryNames::setAll);
         FilteredList<String> filtered = new FilteredList<>(categoryNames, s -> true);
 
         // ComboBox setup
@@ -72,30 +85,40 @@ public class InventoryDialog {
                 categoryField.setVisibleRowCount(Math.min(filtered.size(), 6))
         );
 
+        // Matching names are found off the FX thread once typing pauses
+        SearchPipeline<CategoryQuery, Set<String>> categorySearch = new SearchPipeline<>(
+                categoryField,
+                () -> new CategoryQuery(categoryField.getEditor().getText().toLowerCase().trim(), List.copyOf(categoryNames)),
+                query -> query.names().stream()
+                        .filter(name -> name.toLowerCase().contains(query.input()))
+                        .collect(Collectors.toSet()),
+                matches -> {
+                    filtered.setPredicate(matches::contains);
+                    categoryField.setVisibleRowCount(Math.min(filtered.size(), 6));
+
+                    if (!filtered.isEmpty()) {
+                        Platform.runLater(() -> {
+                            if (!categoryField.isShowing()) {
+                                categoryField.show();
+                            } else {
+                                categoryField.hide();
+                                categoryField.show(); // force refresh
+                            }
+                        });
+                    } else {
+                        categoryField.hide();
+                    }
+                });
+
         // Filtering only starts after user types (ignores leading space)
         categoryField.getEditor().textProperty().addListener((obs, oldText, newText) -> {
             if (newText == null || newText.isEmpty() || newText.charAt(0) == ' ') {
+                categorySearch.cancel();
                 categoryField.hide();
                 filtered.setPredicate(s -> true);
                 return;
             }
-
-            String input = newText.toLowerCase().trim();
-            filtered.setPredicate(item -> item.toLowerCase().contains(input));
-            categoryField.setVisibleRowCount(Math.min(filtered.size(), 6));
-
-            if (!filtered.isEmpty()) {
-                Platform.runLater(() -> {
-                    if (!categoryField.isShowing()) {
-                        categoryField.show();
-                    } else {
-                        categoryField.hide();
-                        categoryField.show(); // force refresh
-                    }
-                });
-            } else {
-                categoryField.hide();
-            }
+            categorySearch.trigger();
         });
 
         // Only update editor text if item was truly selected
@@ -140,7 +163,8 @@ public class InventoryDialog {
 
         if (productToEdit != null) {
             nameField.setText(productToEdit.getProductName());
-            priceField.setText(String.valueOf(productToEdit.getProductPrice()));
+            skuField.setText(productToEdit.getSku());
+            priceField.setText(productToEdit.getProductPrice().toString());
             quantityField.setText(String.valueOf(productToEdit.getStock()));
             descriptionField.setText(productToEdit.getDescription());
 
@@ -160,7 +184,7 @@ public class InventoryDialog {
         HBox buttonBox = new HBox(20, saveButton, cancelButton);
         buttonBox.setAlignment(Pos.CENTER);
 
-        dialogBox.getChildren().addAll(title, nameField, rowInputs, descriptionField, buttonBox);
+        dialogBox.getChildren().addAll(title, nameField, skuField, rowInputs, descriptionField, buttonBox);
 
         saveButton.setOnAction(e -> {
             try {
@@ -169,43 +193,67 @@ public class InventoryDialog {
                 String priceText = priceField.getText().trim();
                 String quantityText = quantityField.getText().trim();
                 String description = descriptionField.getText().trim();
+                String sku = skuField.getText().trim();
 
                 if (name.isEmpty() || categoryName.isEmpty() || priceText.isEmpty() || quantityText.isEmpty()) {
                     PopUpDialog.showError("Please fill in all fields.");
                     return;
                 }
 
-                double price = Double.parseDouble(priceText);
+                Money price = Money.parse(priceText);
                 int quantity = Integer.parseInt(quantityText);
-
-                Category categoryObj = categoryDAO.getOrCreateCategoryByName(categoryName);
-                if (categoryObj == null) {
-                    PopUpDialog.showError("Category could not be created.");
+                if (price.isNegative()) {
+                    PopUpDialog.showError("Price cannot be negative.");
                     return;
                 }
 
-                Product product = new Product();
-                product.setProductId(productToEdit != null ? productToEdit.getProductId() : 0);
-                product.setProductName(name);
-                product.setCategoryId(categoryObj.getCategoryId());
-                product.setCategoryName(categoryObj.getCategoryName());
-                product.setProductPrice(price);
-                product.setStock(quantity);
-                product.setDescription(description);
-
-                if (productToEdit == null) {
-                    Product inserted = ProductDAO.insert(product);
-                    inserted.setCategoryName(categoryObj.getCategoryName());
-                    boolean add = products.add(inserted);
-                    categoryNames.setAll(CategoryDAO.getAllCategoryNames());
-                } else {
+                // Category lookup and the insert/update run off the FX thread
+                saveButton.setDisable(true);
+                AsyncLoader.load(dialogBox, () -> {
+                    Category categoryObj = categoryDAO.getOrCreateCategoryByName(categoryName);
+                    if (categoryObj == null) {
+                        return null;
+                    }
+
+                    Product product = new Product();
+                    product.setProductId(productToEdit != null ? productToEdit.getProductId() : 0);
+                    product.setProductName(name);
+                    product.setCategoryId(categoryObj.getCategoryId());
+                    product.setCategoryName(categoryObj.getCategoryName());
+                    product.setProductPrice(price);
+                    product.setStock(quantity);
+                    product.setDescription(description);
+                    product.setSku(sku.isEmpty() ? null : sku);
+
+                    if (productToEdit == null) {
+                        Product inserted = ProductDAO.insert(product);
+                        inserted.setCategoryName(categoryObj.getCategoryName());
+                        return inserted;
+                    }
                     ProductDAO.update(product);
-                    int index = products.indexOf(productToEdit);
-                    if (index != -1) products.set(index, product);
-                }
+                    return product;
+                }, saved -> {
+                    saveButton.setDisable(false);
+                    if (saved == null) {
+                        PopUpDialog.showError("Category could not be created.");
+                        return;
+                    }
+
+                    if (productToEdit == null) {
+                        products.add(saved);
+                    } else {
+                        int index = products.indexOf(productToEdit);
+                        if (index != -1) products.set(index, saved);
+                    }
 
-                DialogManager.closeDialog();
-                onUpdated.run();
+                    DialogManager.closeDialog();
+                    onUpdated.run();
+                }, ex -> {
+                    saveButton.setDisable(false);
+                    PopUpDialog.showError(ex instanceof SQLIntegrityConstraintViolationException
+                            ? "Another product already has this SKU."
+                            : "An unexpected error occurred.");
+                });
 
             } catch (NumberFormatException ex) {
                 PopUpDialog.showError("Invalid number format.");
@@ -218,4 +266,7 @@ public class InventoryDialog {
 
         DialogManager.showDialog(dialogBox, false);
     }
-}
\ No newline at end of file
+
+    // Text typed in the category box and the names it is matched against
+    private record CategoryQuery(String input, List<String> names) {}
+}
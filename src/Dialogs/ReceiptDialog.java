@@ -1,6 +1,7 @@
 package Dialogs;
 
 import DB.AppFormatter;
+import Model.POJO.Money;
 import Model.POJO.SaleItem;
 import Pages.AccessPage;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -85,24 +86,21 @@ public class ReceiptDialog {
         TableColumn<SaleItem, Integer> qtyCol = new TableColumn<>("Qty");
         qtyCol.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getSiQty()));
 
-        TableColumn<SaleItem, Double> priceCol = new TableColumn<>("Unit Price");
+        TableColumn<SaleItem, Money> priceCol = new TableColumn<>("Unit Price");
         priceCol.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getSiPrice()));
         priceCol.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double item, boolean empty) {
+            protected void updateItem(Money item, boolean empty) {
                 super.updateItem(item, empty);
                 setText(empty || item == null ? null : AppFormatter.formatCurrency(item));
             }
         });
 
-        TableColumn<SaleItem, Double> subtotalCol = new TableColumn<>("Subtotal");
-        subtotalCol.setCellValueFactory(c -> {
-            double subtotal = c.getValue().getSiQty() * c.getValue().getSiPrice();
-            return new ReadOnlyObjectWrapper<>(subtotal);
-        });
+        TableColumn<SaleItem, Money> subtotalCol = new TableColumn<>("Subtotal");
+        subtotalCol.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getLineTotal()));
         subtotalCol.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double item, boolean empty) {
+            protected void updateItem(Money item, boolean empty) {
                 super.updateItem(item, empty);
                 setText(empty || item == null ? null : AppFormatter.formatCurrency(item));
             }
@@ -134,7 +132,7 @@ public class ReceiptDialog {
         scrollPane.setStyle("-fx-background-color: transparent; -fx-border-color: transparent;");
         VBox.setVgrow(scrollPane, Priority.ALWAYS);
 
-        double total = items.stream().mapToDouble(i -> i.getSiQty() * i.getSiPrice()).sum();
+        Money total = Money.sum(items, SaleItem::getLineTotal);
 
         Label countLabel = new Label("Product Count: " + itemCount);
         countLabel.getStyleClass().add("receipt-message");
@@ -3,7 +3,7 @@ import javafx.scene.Scene;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import Pages.AccessPage;
-import Pages.Layouts.AccessLayout;
+import Pages.StartupScreen;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,13 +31,22 @@ public class Main extends Application {
             stage.setTitle("Sales Management System");
             stage.show();
 
-            AccessLayout.show(); // Show login layout
+            // Migrate the schema in the background, then show the login layout
+            StartupScreen.show();
             logger.info("Application started successfully.");
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to start application", e);
         }
     }
 
+    /**
+     * Stops the metrics endpoint, which would otherwise keep the JVM alive after the window closes.
+     */
+    @Override
+    public void stop() {
+        StartupScreen.shutdown();
+    }
+
     /**
      * Launches the JavaFX application.
      */
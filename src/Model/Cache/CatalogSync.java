@@ -0,0 +1,175 @@
+package Model.Cache;
+
+import DB.JDBC;
+import Model.DAO.ProductChangeDAO;
+import Model.DAO.ProductChangeDAO.ProductChange;
+import Model.DAO.ProductDAO;
+import Model.POJO.Product;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps this terminal's {@link ProductCatalog} in step with changes made by other terminals.
+ * <p>
+ * Triggers on the product table append to the product_change log. A background poller reads
+ * the log about once a second, fetches only the products that changed, and applies them to the
+ * catalog; products that can no longer be fetched were deleted. Listeners are then told which
+ * products changed.
+ * <p>
+ * The log is read by change_id rather than by time. IDs are allocated when a row is written
+ * but become visible when its transaction commits, so a skipped ID may belong to a transaction
+ * that is still open. Skipped IDs are remembered and looked for again on every poll until they
+ * appear or the gap timeout passes; IDs of rolled-back writes never appear. A change whose
+ * transaction commits more than the gap timeout after writing its log row is missed until the
+ * catalog is next reloaded.
+ * <p>
+ * Interval, gap timeout and retention can be set with "catalog.sync.intervalMs" (default 1000),
+ * "catalog.sync.gapTimeoutMs" (default 60000) and "catalog.sync.retentionMinutes" (default 60)
+ * in config.properties.
+ */
+public class CatalogSync {
+
+    private static final Logger logger = Logger.getLogger(CatalogSync.class.getName());
+
+    private static final long PRUNE_INTERVAL_MS = 10 * 60_000;
+    // A jump in IDs larger than this is an allocation gap (e.g. after a restart), not open transactions
+    private static final long MAX_TRACKED_GAP = 1_000;
+
+    private static final List<Consumer<CatalogChange>> listeners = new CopyOnWriteArrayList<>();
+
+    // Only touched by the poller thread
+    private static final Map<Long, Long> missingSince = new HashMap<>(); // skipped change ID -> first noticed (ms)
+    private static long lastChangeId = -1;
+    private static long gapTimeoutMs;
+    private static long lastPruneAt = 0;
+
+    private static ScheduledExecutorService poller;
+
+    /**
+     * Starts the background poller. Calling it again has no effect.
+     */
+    public static synchronized void start() {
+        if (poller != null) return;
+
+        long intervalMs = JDBC.getLongProperty("catalog.sync.intervalMs", 1_000);
+        gapTimeoutMs = JDBC.getLongProperty("catalog.sync.gapTimeoutMs", 60_000);
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(CatalogSync::pollSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Catalog sync started (every " + intervalMs + " ms)");
+    }
+
+    /**
+     * Stops the background poller.
+     */
+    public static synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    /**
+     * Registers a listener called on the poller thread after changes are applied to the catalog.
+     */
+    public static void addListener(Consumer<CatalogChange> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<CatalogChange> listener) {
+        listeners.remove(listener);
+    }
+
+    // A failed poll must not cancel the scheduled task
+    private static void pollSafely() {
+        try {
+            poll();
+            pruneIfDue();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Catalog sync poll failed", e);
+        }
+    }
+
+    private static void poll() throws Exception {
+        if (lastChangeId < 0) {
+            lastChangeId = ProductChangeDAO.getLatestChangeId();
+        }
+
+        // Re-read from the oldest skipped ID so late commits below lastChangeId are found
+        long after = lastChangeId;
+        for (long missing : missingSince.keySet()) {
+            after = Math.min(after, missing - 1);
+        }
+
+        long now = System.currentTimeMillis();
+        Set<Integer> changedIds = new LinkedHashSet<>();
+        for (ProductChange change : ProductChangeDAO.getChangesAfter(after)) {
+            long id = change.changeId();
+            if (id > lastChangeId) {
+                if (id - lastChangeId <= MAX_TRACKED_GAP) {
+                    for (long skipped = lastChangeId + 1; skipped < id; skipped++) {
+                        missingSince.put(skipped, now);
+                    }
+                }
+                lastChangeId = id;
+                changedIds.add(change.productId());
+            } else if (missingSince.remove(id) != null) {
+                changedIds.add(change.productId());
+            }
+        }
+        missingSince.values().removeIf(noticed -> now - noticed > gapTimeoutMs);
+
+        if (changedIds.isEmpty()) return;
+
+        List<Product> fresh = ProductDAO.getByIds(changedIds);
+        Set<Integer> removedIds = new HashSet<>(changedIds);
+        fresh.forEach(p -> removedIds.remove(p.getProductId()));
+
+        List<Product> updated = ProductCatalog.applyChanges(fresh, removedIds);
+        MetricsCache.invalidateAll(); // Stock and prices feed the dashboard metrics
+        logger.fine("Catalog sync applied " + updated.size() + " update(s) and " + removedIds.size() + " removal(s)");
+
+        CatalogChange change = new CatalogChange(updated, removedIds);
+        for (Consumer<CatalogChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Catalog sync listener failed", e);
+            }
+        }
+    }
+
+    // Every terminal prunes; deleting already-deleted rows is harmless
+    private static void pruneIfDue() throws Exception {
+        long now = System.currentTimeMillis();
+        if (now - lastPruneAt < PRUNE_INTERVAL_MS) return;
+        lastPruneAt = now;
+
+        long retentionMinutes = JDBC.getLongProperty("catalog.sync.retentionMinutes", 60);
+        LocalDateTime cutoff = ProductChangeDAO.getDatabaseTime().minusMinutes(retentionMinutes);
+        int removed = ProductChangeDAO.deleteOlderThan(cutoff);
+        if (removed > 0) {
+            logger.info("Pruned " + removed + " old product change log entries");
+        }
+    }
+
+    /**
+     * Products changed by a sync (the catalog's shared instances) and IDs of deleted products.
+     */
+    public record CatalogChange(List<Product> updated, Set<Integer> removedIds) {}
+}
@@ -0,0 +1,95 @@
+package Model.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Short-lived cache for dashboard metrics, shared by the admin and employee dashboards.
+ * <p>
+ * Every entry has its own time to live. An expired or invalidated entry is still returned by
+ * {@link #peek} (marked stale) so a dashboard can show it at once while {@link #refresh}
+ * recomputes it in the background. Concurrent refreshes of the same key share one query.
+ * {@link #invalidateAll} marks every entry stale, including values whose query was already
+ * running, and is called when a checkout commits or the catalog changes.
+ */
+public class MetricsCache {
+
+    private static final Logger logger = Logger.getLogger(MetricsCache.class.getName());
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private static final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Returns the cached value for key, fresh or stale, or null if it was never loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Cached<T> peek(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        return new Cached<>((T) entry.value(), entry.isFresh());
+    }
+
+    /**
+     * Runs the loader and caches its result for ttl. If a refresh of the same key is already
+     * running, waits for it instead. Runs on the calling thread.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T refresh(String key, Duration ttl, Callable<T> loader) throws Exception {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            try {
+                return (T) running.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            long loadGeneration = generation.get();
+            long start = System.nanoTime();
+            T value = loader.call();
+            entries.put(key, new Entry(value, System.nanoTime(), ttl.toNanos(), loadGeneration));
+            logger.fine("Refreshed metric " + key + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            mine.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Marks one entry stale so the next read refreshes it.
+     */
+    public static void invalidate(String key) {
+        entries.computeIfPresent(key, (k, e) -> new Entry(e.value(), e.loadedAt(), 0, e.generation()));
+    }
+
+    /**
+     * Marks every entry stale, including ones whose refresh is still running.
+     */
+    public static void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * A cached value and whether it is still within its time to live.
+     */
+    public record Cached<T>(T value, boolean fresh) {}
+
+    private record Entry(Object value, long loadedAt, long ttlNanos, long generation) {
+        boolean isFresh() {
+            return generation == MetricsCache.generation.get() && System.nanoTime() - loadedAt < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package Model.Cache;
+
+import Model.DAO.ProductDAO;
+import Model.POJO.Product;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide cache of every product, keyed by product ID with secondary indexes by category and SKU.
+ * <p>
+ * The catalog is loaded in full once. After that, ProductDAO writes are applied to it, and
+ * {@link #refresh()} fetches only rows whose product.updated_at moved since the last refresh.
+ * Changes made by other terminals arrive through {@link CatalogSync}. Every change is also
+ * applied to a {@link ProductSearchIndex} used by {@link #search}.
+ * <p>
+ * Cached Product instances are never modified: the catalog stores its own copy of every
+ * product and each change replaces it with a new instance. Products handed out can therefore
+ * be read on any thread (the FX thread included) while the sync poller or checkout worker
+ * applies changes, and a cart line keeps the price it was added at. To see changes, fetch or
+ * search again.
+ */
+public class ProductCatalog {
+
+    private static final Logger logger = Logger.getLogger(ProductCatalog.class.getName());
+
+    // Rows stamped shortly before the last seen change are fetched again, so writes from
+    // transactions that committed after a refresh read past them are not missed
+    private static final long REFRESH_OVERLAP_MS = 5_000;
+
+    private static final Map<Integer, Product> byId = new ConcurrentHashMap<>();
+    private static final Map<Integer, Set<Integer>> idsByCategory = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> idBySku = new ConcurrentHashMap<>();
+    private static final ProductSearchIndex searchIndex = new ProductSearchIndex();
+
+    private static volatile boolean loaded = false;
+    private static LocalDateTime lastUpdatedAt;
+
+    /**
+     * Returns all cached products ordered by ID, loading the catalog on first use
+     * and applying changes made since the last call.
+     */
+    public static List<Product> getAll() throws SQLException {
+        if (!ensureLoaded()) {
+            refresh();
+        }
+        List<Product> products = new ArrayList<>(byId.values());
+        products.sort(Comparator.comparingInt(Product::getProductId));
+        return products;
+    }
+
+    /**
+     * Returns the cached products in a category, ordered by ID.
+     */
+    public static List<Product> getByCategory(int categoryId) throws SQLException {
+        if (!ensureLoaded()) {
+            refresh();
+        }
+        List<Product> products = new ArrayList<>();
+        for (int id : idsByCategory.getOrDefault(categoryId, Set.of())) {
+            Product product = byId.get(id);
+            if (product != null) products.add(product);
+        }
+        products.sort(Comparator.comparingInt(Product::getProductId));
+        return products;
+    }
+
+    /**
+     * Returns the cached products matching a search, ordered by ID. Never queries the database,
+     * so it is cheap enough to call on every keystroke; returns nothing before the catalog is loaded.
+     */
+    public static List<Product> search(ProductSearchIndex.Query query) {
+        return searchIndex.search(query);
+    }
+
+    /**
+     * Returns the IDs of the cached products matching a search, for filtering a list of products.
+     */
+    public static Set<Integer> searchIds(ProductSearchIndex.Query query) {
+        Set<Integer> ids = new HashSet<>();
+        for (Product product : searchIndex.search(query)) {
+            ids.add(product.getProductId());
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the cached product with the given ID, or null if there is none.
+     * Does not query the database once the catalog is loaded.
+     */
+    public static Product get(int productId) throws SQLException {
+        ensureLoaded();
+        return byId.get(productId);
+    }
+
+    /**
+     * Returns the cached product with the given SKU, or null if there is none.
+     * Never queries the database, so it returns null before the catalog is loaded.
+     */
+    public static Product getBySku(String sku) {
+        Integer id = idBySku.get(sku);
+        Product product = id == null ? null : byId.get(id);
+        return product != null && sku.equals(product.getSku()) ? product : null;
+    }
+
+    /**
+     * Fetches products changed since the last refresh and merges them into the catalog.
+     */
+    public static synchronized void refresh() throws SQLException {
+        if (!loaded) {
+            reload();
+            return;
+        }
+
+        LocalDateTime since = lastUpdatedAt == null
+                ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : lastUpdatedAt.minusNanos(REFRESH_OVERLAP_MS * 1_000_000);
+        List<Product> changed = ProductDAO.getChangedSince(since);
+        changed.forEach(ProductCatalog::merge);
+        logger.fine("Catalog refresh applied " + changed.size() + " changed product(s)");
+    }
+
+    /**
+     * Discards the cache and loads every product again.
+     */
+    public static synchronized void reload() throws SQLException {
+        List<Product> products = ProductDAO.getAll();
+
+        byId.clear();
+        idsByCategory.clear();
+        idBySku.clear();
+        searchIndex.rebuild(List.of());
+        lastUpdatedAt = null;
+        products.forEach(ProductCatalog::merge);
+
+        loaded = true;
+        logger.info("Product catalog loaded with " + products.size() + " product(s)");
+    }
+
+    /**
+     * Applies changes made by any terminal: merges the fresh rows and drops the removed IDs.
+     * Returns the cached instances of the updated products. Does nothing before the catalog is loaded.
+     */
+    public static synchronized List<Product> applyChanges(List<Product> updated, Set<Integer> removedIds) {
+        List<Product> cached = new ArrayList<>();
+        if (!loaded) return cached;
+
+        for (Product product : updated) {
+            merge(product);
+            cached.add(byId.get(product.getProductId()));
+        }
+        removedIds.forEach(ProductCatalog::remove);
+        return cached;
+    }
+
+    /**
+     * Adds a product, or replaces the cached instance with the same ID. A copy is cached,
+     * so the caller keeps ownership of the given instance. Called by ProductDAO after inserts
+     * and updates.
+     */
+    public static synchronized void put(Product product) {
+        if (loaded) merge(product);
+    }
+
+    /**
+     * Removes a deleted product from the catalog.
+     */
+    public static synchronized void remove(int productId) {
+        Product removed = byId.remove(productId);
+        if (removed != null) {
+            unindex(productId, removed.getCategoryId());
+            unindexSku(productId, removed.getSku());
+            searchIndex.remove(productId);
+        }
+    }
+
+    /**
+     * Sets the stock of cached products from a committed change (product ID to new stock).
+     */
+    public static synchronized void applyStock(Map<Integer, Integer> stockLevels) {
+        stockLevels.forEach((id, stock) -> {
+            Product cached = byId.get(id);
+            if (cached != null) {
+                Product updated = new Product(cached);
+                updated.setStock(stock);
+                byId.put(id, updated);
+                searchIndex.updateStock(updated);
+            }
+        });
+    }
+
+    /**
+     * Updates the category name shown on every cached product in the category.
+     */
+    public static synchronized void renameCategory(int categoryId, String newName) {
+        for (int id : idsByCategory.getOrDefault(categoryId, Set.of())) {
+            Product cached = byId.get(id);
+            if (cached != null) {
+                Product renamed = new Product(cached);
+                renamed.setCategoryName(newName);
+                byId.put(id, renamed);
+                searchIndex.update(renamed);
+            }
+        }
+    }
+
+    // Loads the catalog if needed; returns true if this call did the load
+    private static boolean ensureLoaded() throws SQLException {
+        if (loaded) return false;
+        synchronized (ProductCatalog.class) {
+            if (loaded) return false;
+            reload();
+            return true;
+        }
+    }
+
+    // Caches a copy of the product in place of any earlier instance
+    private static void merge(Product fresh) {
+        Product stored = new Product(fresh);
+        Product cached = byId.get(fresh.getProductId());
+        if (cached == null) {
+            index(fresh.getProductId(), fresh.getCategoryId());
+        } else {
+            unindexSku(cached.getProductId(), cached.getSku());
+            if (cached.getCategoryId() != fresh.getCategoryId()) {
+                unindex(cached.getProductId(), cached.getCategoryId());
+                index(cached.getProductId(), fresh.getCategoryId());
+            }
+            if (stored.getCategoryName() == null) stored.setCategoryName(cached.getCategoryName());
+            if (stored.getUpdatedAt() == null) stored.setUpdatedAt(cached.getUpdatedAt());
+        }
+        byId.put(stored.getProductId(), stored);
+        if (stored.getSku() != null) idBySku.put(stored.getSku(), stored.getProductId());
+        searchIndex.update(stored);
+
+        LocalDateTime updatedAt = fresh.getUpdatedAt();
+        if (updatedAt != null && (lastUpdatedAt == null || updatedAt.isAfter(lastUpdatedAt))) {
+            lastUpdatedAt = updatedAt;
+        }
+    }
+
+    private static void index(int productId, int categoryId) {
+        idsByCategory.computeIfAbsent(categoryId, k -> ConcurrentHashMap.newKeySet()).add(productId);
+    }
+
+    private static void unindex(int productId, int categoryId) {
+        Set<Integer> ids = idsByCategory.get(categoryId);
+        if (ids != null) ids.remove(productId);
+    }
+
+    // Drops the SKU mapping unless the SKU was already given to another product
+    private static void unindexSku(int productId, String sku) {
+        if (sku != null) idBySku.remove(sku, productId);
+    }
+}
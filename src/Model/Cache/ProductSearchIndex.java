@@ -0,0 +1,201 @@
+package Model.Cache;
+
+import Model.POJO.Product;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory search index over products, answering "name contains text, in category, in stock"
+ * without touching the products themselves.
+ * <p>
+ * Each product gets a slot number. Lowercased names are stored once per slot, every three-letter
+ * sequence of a name maps to a bitmap of slots, and there is one bitmap per category name plus
+ * one for products in stock. A query ANDs the bitmaps together and only checks the surviving
+ * names with {@code contains}, so typing in a search box does not lowercase or scan the whole
+ * catalog. Searches of one or two letters fall back to scanning the stored names.
+ * <p>
+ * The index is kept up to date by {@link ProductCatalog}; all methods are synchronized.
+ */
+public class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final List<Product> products = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private final Map<Long, BitSet> slotsByTrigram = new HashMap<>();
+    private final Map<String, BitSet> slotsByCategory = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+
+    /**
+     * Returns the products matching the query, ordered by ID.
+     */
+    public synchronized List<Product> search(Query query) {
+        BitSet result = (BitSet) live.clone();
+        if (query.category() != null) {
+            BitSet inCategory = slotsByCategory.get(query.category());
+            if (inCategory == null) return List.of();
+            result.and(inCategory);
+        }
+        if (query.inStockOnly()) {
+            result.and(inStock);
+        }
+
+        String needle = normalize(query.text());
+        if (!needle.isEmpty()) {
+            BitSet matches = matchNames(needle, result);
+            if (query.matchCategoryName()) {
+                slotsByCategory.forEach((category, slots) -> {
+                    if (normalize(category).contains(needle)) {
+                        BitSet hits = (BitSet) slots.clone();
+                        hits.and(result);
+                        matches.or(hits);
+                    }
+                });
+            }
+            result.clear();
+            result.or(matches);
+        }
+
+        List<Product> found = new ArrayList<>(result.cardinality());
+        for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+            found.add(products.get(slot));
+        }
+        found.sort(Comparator.comparingInt(Product::getProductId));
+        return found;
+    }
+
+    /**
+     * Adds a product, or re-indexes it after its name, category or stock changed.
+     */
+    public synchronized void update(Product product) {
+        Integer slot = slotById.get(product.getProductId());
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? products.size() : freeSlots.pop();
+            slotById.put(product.getProductId(), slot);
+            if (slot == products.size()) {
+                products.add(null);
+                names.add(null);
+                categories.add(null);
+            }
+        } else {
+            unindex(slot);
+        }
+        index(slot, product);
+    }
+
+    /**
+     * Replaces a product whose only change is its stock, re-checking whether it is in stock.
+     */
+    public synchronized void updateStock(Product product) {
+        Integer slot = slotById.get(product.getProductId());
+        if (slot != null) {
+            products.set(slot, product);
+            inStock.set(slot, product.getStock() > 0);
+        }
+    }
+
+    public synchronized void remove(int productId) {
+        Integer slot = slotById.remove(productId);
+        if (slot != null) {
+            unindex(slot);
+            products.set(slot, null);
+            freeSlots.push(slot);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given products.
+     */
+    public synchronized void rebuild(Collection<Product> all) {
+        products.clear();
+        names.clear();
+        categories.clear();
+        slotById.clear();
+        freeSlots.clear();
+        slotsByTrigram.clear();
+        slotsByCategory.clear();
+        live.clear();
+        inStock.clear();
+        all.forEach(this::update);
+    }
+
+    // Slots among candidates whose name contains the needle
+    private BitSet matchNames(String needle, BitSet candidates) {
+        BitSet matches = (BitSet) candidates.clone();
+        for (int i = 0; i + GRAM <= needle.length() && !matches.isEmpty(); i++) {
+            BitSet withGram = slotsByTrigram.get(trigram(needle, i));
+            if (withGram == null) return new BitSet();
+            matches.and(withGram);
+        }
+        // The trigrams can appear in another order, so confirm on the stored name
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            if (!names.get(slot).contains(needle)) matches.clear(slot);
+        }
+        return matches;
+    }
+
+    private void index(int slot, Product product) {
+        String name = normalize(product.getProductName());
+        String category = product.getCategoryName() == null ? "" : product.getCategoryName();
+
+        products.set(slot, product);
+        names.set(slot, name);
+        categories.set(slot, category);
+        live.set(slot);
+        inStock.set(slot, product.getStock() > 0);
+        slotsByCategory.computeIfAbsent(category, k -> new BitSet()).set(slot);
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            slotsByTrigram.computeIfAbsent(trigram(name, i), k -> new BitSet()).set(slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        String name = names.get(slot);
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            clearSlot(slotsByTrigram, trigram(name, i), slot);
+        }
+        clearSlot(slotsByCategory, categories.get(slot), slot);
+        live.clear(slot);
+        inStock.clear(slot);
+    }
+
+    // Clears a slot from a bitmap, dropping the bitmap once it is empty
+    private static <K> void clearSlot(Map<K, BitSet> bitmaps, K key, int slot) {
+        BitSet slots = bitmaps.get(key);
+        if (slots == null) return;
+        slots.clear(slot);
+        if (slots.isEmpty()) bitmaps.remove(key);
+    }
+
+    // Three chars packed into one key
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A product search.
+     *
+     * @param text              text the product name must contain, case-insensitively; empty matches all
+     * @param category          category name to limit results to, or null for every category
+     * @param inStockOnly       whether to leave out products with no stock
+     * @param matchCategoryName whether text may also match the category name
+     */
+    public record Query(String text, String category, boolean inStockOnly, boolean matchCategoryName) {}
+}
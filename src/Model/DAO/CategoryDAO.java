@@ -1,6 +1,7 @@
 package Model.DAO;
 
 import DB.JDBC;
+import Model.Cache.ProductCatalog;
 import Model.POJO.Category;
 import java.sql.*;
 import java.util.*;
@@ -38,7 +39,11 @@ public class CategoryDAO {
 
             stmt.setString(1, category.getCategoryName());
             stmt.setInt(2, category.getCategoryId());
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                ProductCatalog.renameCategory(category.getCategoryId(), category.getCategoryName());
+            }
+            return updated;
         }
     }
 
@@ -184,7 +189,11 @@ public class CategoryDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, newName);
             stmt.setInt(2, id);
-            return stmt.executeUpdate() > 0;
+            boolean renamed = stmt.executeUpdate() > 0;
+            if (renamed) {
+                ProductCatalog.renameCategory(id, newName);
+            }
+            return renamed;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to rename category ID " + id + " to " + newName, e);
             return false;
@@ -0,0 +1,123 @@
+package Model.DAO;
+
+import DB.JDBC;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and prunes the product_change log, which database triggers fill with one row
+ * per inserted, updated or deleted product.
+ * <p>
+ * Where the database user may not create triggers, {@link DB.SchemaMigrator} turns off
+ * {@link #setLoggedByTriggers trigger logging} and ProductDAO records its own writes
+ * through {@link #recordChanges}.
+ */
+public class ProductChangeDAO {
+
+    private static volatile boolean loggedByTriggers = true;
+
+    /**
+     * Sets whether triggers fill the log; if not, {@link #recordChanges} writes the entries.
+     */
+    public static void setLoggedByTriggers(boolean installed) {
+        loggedByTriggers = installed;
+    }
+
+    public static boolean isLoggedByTriggers() {
+        return loggedByTriggers;
+    }
+
+    /**
+     * Logs changes to the given products, unless triggers already do. Uses the caller's
+     * connection, so the entries commit or roll back with the write they describe.
+     */
+    public static void recordChanges(Connection conn, Collection<Integer> productIds) throws SQLException {
+        if (loggedByTriggers || productIds.isEmpty()) return;
+
+        String sql = "INSERT INTO product_change (product_id) VALUES "
+                + String.join(",", Collections.nCopies(productIds.size(), "(?)"));
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int productId : productIds) {
+                stmt.setInt(index++, productId);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Retrieves change log entries with an ID above the given one, in ID order.
+     */
+    public static List<ProductChange> getChangesAfter(long changeId) throws SQLException {
+        List<ProductChange> changes = new ArrayList<>();
+        String sql = """
+            SELECT change_id, product_id, changed_at
+            FROM product_change
+            WHERE change_id > ?
+            ORDER BY change_id
+        """;
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, changeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changes.add(new ProductChange(
+                            rs.getLong("change_id"),
+                            rs.getInt("product_id"),
+                            rs.getTimestamp("changed_at").toLocalDateTime()));
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Returns the highest change log ID, or 0 if the log is empty.
+     */
+    public static long getLatestChangeId() throws SQLException {
+        try (Connection conn = JDBC.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(change_id), 0) FROM product_change")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Returns the database server's current time, so pollers never depend on the local clock.
+     */
+    public static LocalDateTime getDatabaseTime() throws SQLException {
+        try (Connection conn = JDBC.connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT NOW(3)")) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        }
+    }
+
+    /**
+     * Deletes change log entries older than the given time. Returns the number of rows removed.
+     */
+    public static int deleteOlderThan(LocalDateTime cutoff) throws SQLException {
+        String sql = "DELETE FROM product_change WHERE changed_at < ?";
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * One change log entry: the product that was inserted, updated or deleted and when.
+     */
+    public record ProductChange(long changeId, int productId, LocalDateTime changedAt) {}
+}
@@ -1,10 +1,17 @@
 package Model.DAO;
 
 import DB.JDBC;
+import Model.Cache.ProductCatalog;
+import Model.POJO.Money;
 import Model.POJO.Product;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -60,13 +67,74 @@ public class ProductDAO {
         return products;
     }
 
+    /**
+     * Retrieves products modified at or after the given time (by product.updated_at),
+     * including their category names. Used for incremental catalog refreshes.
+     */
+    public static List<Product> getChangedSince(LocalDateTime since) throws SQLException {
+        List<Product> products = new ArrayList<>();
+
+        String sql = """
+            SELECT p.*, c.category_name
+            FROM product p
+            JOIN category c ON p.category_id = c.category_id
+            WHERE p.updated_at >= ?
+        """;
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(extractProduct(rs));
+                }
+            }
+        }
+
+        return products;
+    }
+
+    /**
+     * Retrieves the products with the given IDs, including their category names.
+     * IDs that no longer exist are left out.
+     */
+    public static List<Product> getByIds(Collection<Integer> productIds) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        if (productIds.isEmpty()) return products;
+
+        String placeholders = String.join(",", Collections.nCopies(productIds.size(), "?"));
+        String sql = """
+            SELECT p.*, c.category_name
+            FROM product p
+            JOIN category c ON p.category_id = c.category_id
+            WHERE p.product_id IN (%s)
+        """.formatted(placeholders);
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (int id : productIds) {
+                stmt.setInt(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(extractProduct(rs));
+                }
+            }
+        }
+
+        return products;
+    }
+
     /**
      * Inserts a new product into the database and returns the product with the generated ID.
      */
     public static Product insert(Product product) throws SQLException {
         String sql = """
-            INSERT INTO product (category_id, product_name, description, product_price, stock)
-            VALUES (?, ?, ?, ?, ?)
+            INSERT INTO product (category_id, product_name, description, product_price, stock, sku)
+            VALUES (?, ?, ?, ?, ?, ?)
         """;
 
         try (Connection conn = JDBC.connect();
@@ -75,14 +143,17 @@ public class ProductDAO {
             stmt.setInt(1, product.getCategoryId());
             stmt.setString(2, product.getProductName());
             stmt.setString(3, product.getDescription());
-            stmt.setDouble(4, product.getProductPrice());
+            JDBC.setMoney(stmt, 4, product.getProductPrice());
             stmt.setInt(5, product.getStock());
+            stmt.setString(6, product.getSku());
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
                     if (rs.next()) {
                         product.setProductId(rs.getInt(1));
+                        ProductChangeDAO.recordChanges(conn, List.of(product.getProductId()));
+                        ProductCatalog.put(product);
                         return product;
                     }
                 }
@@ -101,7 +172,8 @@ public class ProductDAO {
                 product_name = ?,
                 description = ?,
                 product_price = ?,
-                stock = ?
+                stock = ?,
+                sku = ?
             WHERE product_id = ?
         """;
 
@@ -111,26 +183,17 @@ public class ProductDAO {
             stmt.setInt(1, product.getCategoryId());
             stmt.setString(2, product.getProductName());
             stmt.setString(3, product.getDescription());
-            stmt.setDouble(4, product.getProductPrice());
+            JDBC.setMoney(stmt, 4, product.getProductPrice());
             stmt.setInt(5, product.getStock());
-            stmt.setInt(6, product.getProductId());
+            stmt.setString(6, product.getSku());
+            stmt.setInt(7, product.getProductId());
 
-            return stmt.executeUpdate() > 0;
-        }
-    }
-    /**
-     * Updates the stock quantity of a product by a specified amount.
-     */
-    public static boolean updateStock(int productId, int quantityChange) throws SQLException {
-        String sql = "UPDATE product SET stock = stock + ? WHERE product_id = ?";
-
-        try (Connection conn = JDBC.connect();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, quantityChange);
-            stmt.setInt(2, productId);
-
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                ProductChangeDAO.recordChanges(conn, List.of(product.getProductId()));
+                ProductCatalog.put(product);
+            }
+            return updated;
         }
     }
     /**
@@ -143,23 +206,88 @@ public class ProductDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, productId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                ProductChangeDAO.recordChanges(conn, List.of(productId));
+                ProductCatalog.remove(productId);
+            }
+            return deleted;
         }
     }
     /**
-     * Reduces the stock of a product if sufficient quantity is available.
-     * Used within a transaction with an existing connection.
+     * Reserves stock for a whole cart (product ID to quantity) in constant round trips.
+     * The affected rows are locked in product ID order, every line is checked against the
+     * locked stock, and all lines are decremented with a single UPDATE. If any line fails the
+     * stock >= quantity guard, nothing is changed and the failing IDs are reported.
+     * Used within a transaction with an existing connection; the caller updates
+     * {@link ProductCatalog} once the transaction commits.
      */
-    public static boolean reduceStock(Connection conn, int productId, int quantity) throws SQLException {
-        String sql = "UPDATE product SET stock = stock - ? WHERE product_id = ? AND stock >= ?";
+    public static StockReservation reserveStock(Connection conn, Map<Integer, Integer> quantities) throws SQLException {
+        if (quantities.isEmpty()) {
+            return new StockReservation(List.of(), Map.of());
+        }
+
+        List<Integer> ids = new ArrayList<>(quantities.keySet());
+        Collections.sort(ids);
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quantity);
-            stmt.setInt(2, productId);
-            stmt.setInt(3, quantity);
-            return stmt.executeUpdate() > 0;
+        // Lock in a fixed order so concurrent checkouts cannot deadlock on each other
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        String lockSql = "SELECT product_id, stock FROM product WHERE product_id IN (" + placeholders
+                + ") ORDER BY product_id FOR UPDATE";
+
+        Map<Integer, Integer> lockedStock = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lockedStock.put(rs.getInt("product_id"), rs.getInt("stock"));
+                }
+            }
         }
+
+        List<Integer> failedIds = new ArrayList<>();
+        Map<Integer, Integer> remainingStock = new HashMap<>();
+        for (int id : ids) {
+            Integer stock = lockedStock.get(id);
+            int quantity = quantities.get(id);
+            if (stock == null || stock < quantity) {
+                failedIds.add(id);
+            } else {
+                remainingStock.put(id, stock - quantity);
+            }
+        }
+
+        if (!failedIds.isEmpty()) {
+            return new StockReservation(failedIds, Map.of());
+        }
+
+        // One multi-row UPDATE joined against the cart lines
+        String rows = String.join(" UNION ALL ", Collections.nCopies(ids.size(), "SELECT ? AS product_id, ? AS qty"));
+        String updateSql = """
+            UPDATE product p
+            JOIN (%s) r ON p.product_id = r.product_id
+            SET p.stock = p.stock - r.qty
+            WHERE p.stock >= r.qty
+        """.formatted(rows);
+
+        try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+            int index = 1;
+            for (int id : ids) {
+                stmt.setInt(index++, id);
+                stmt.setInt(index++, quantities.get(id));
+            }
+            int updated = stmt.executeUpdate();
+            if (updated != ids.size()) {
+                throw new SQLException("Stock reservation updated " + updated + " of " + ids.size() + " products.");
+            }
+        }
+        ProductChangeDAO.recordChanges(conn, ids);
+
+        return new StockReservation(List.of(), remainingStock);
     }
+
     /**
      * Counts how many products are considered low in stock.
      * A product is low if its stock is less than or equal to 20% of the average stock in its category.
@@ -212,7 +340,7 @@ public class ProductDAO {
      * Calculates the total value of all stock in the database.
      * Computed as the sum of (stock * product_price) for all products.
      */
-    public static double getTotalStockValue() {
+    public static Money getTotalStockValue() {
         String sql = "SELECT SUM(stock * product_price) FROM product";
 
         try (Connection conn = JDBC.connect();
@@ -220,13 +348,38 @@ public class ProductDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             if (rs.next()) {
-                return rs.getDouble(1);
+                return JDBC.getMoney(rs, 1);
             }
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error getting total stock value", e);
         }
 
-        return 0.0;
+        return Money.ZERO;
+    }
+    /**
+     * Reads the product count, total stock value and low stock count in a single query
+     * on the given connection. Uses the same low stock rule as {@link #getLowStockCount}.
+     */
+    public static InventoryStats getInventoryStats(Connection conn) throws SQLException {
+        String sql = """
+            SELECT
+                (SELECT COUNT(*) FROM product) AS total_products,
+                (SELECT COALESCE(SUM(stock * product_price), 0) FROM product) AS stock_value,
+                (SELECT COUNT(*) FROM product p
+                 JOIN (
+                     SELECT category_id, AVG(stock) * 0.2 AS threshold
+                     FROM product
+                     GROUP BY category_id
+                 ) AS thresholds
+                 ON p.category_id = thresholds.category_id
+                 WHERE p.stock <= thresholds.threshold) AS low_stock
+        """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return new InventoryStats(rs.getInt("total_products"), JDBC.getMoney(rs, "stock_value"), rs.getInt("low_stock"));
+        }
     }
     /**
      * Utility method that maps a ResultSet row to a Product object.
@@ -238,8 +391,26 @@ public class ProductDAO {
         product.setCategoryName(rs.getString("category_name"));
         product.setProductName(rs.getString("product_name"));
         product.setDescription(rs.getString("description"));
-        product.setProductPrice(rs.getDouble("product_price"));
+        product.setProductPrice(JDBC.getMoney(rs, "product_price"));
         product.setStock(rs.getInt("stock"));
+        product.setSku(rs.getString("sku"));
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        product.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
         return product;
     }
-}
\ No newline at end of file
+
+    /**
+     * Outcome of {@link #reserveStock}: the product IDs that lacked stock (or no longer exist),
+     * and on success the remaining stock of every reserved product.
+     */
+    public record StockReservation(List<Integer> failedIds, Map<Integer, Integer> remainingStock) {
+        public boolean isSuccessful() {
+            return failedIds.isEmpty();
+        }
+    }
+
+    /**
+     * Product count, total value of all stock, and number of low stock products.
+     */
+    public record InventoryStats(int totalProducts, Money stockValue, int lowStockCount) {}
+}
@@ -2,10 +2,10 @@ package Model.DAO;
 
 import DB.JDBC;
 import Model.POJO.CartItem;
+import Model.POJO.Money;
 import Model.POJO.Sale;
 import Model.POJO.SaleItem;
 import java.sql.*;
-import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -22,11 +22,11 @@ public class SaleDAO {
      * Inserts a new sale record with quantity and total amount.
      * Returns the generated sale ID.
      */
-    public static int insert(Connection conn, int saleQty, double totalAmount) throws SQLException {
+    public static int insert(Connection conn, int saleQty, Money totalAmount) throws SQLException {
         String sql = "INSERT INTO sale (sale_date, sale_qty, total_amount) VALUES (NOW(), ?, ?)";
         try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, saleQty);
-            stmt.setDouble(2, totalAmount);
+            JDBC.setMoney(stmt, 2, totalAmount);
             stmt.executeUpdate();
 
             try (ResultSet rs = stmt.getGeneratedKeys()) {
@@ -44,19 +44,19 @@ public class SaleDAO {
      */
     public static List<Sale> getByDate(LocalDateTime date) throws SQLException {
         List<Sale> sales = new ArrayList<>();
-        String sql = "SELECT * FROM sale WHERE DATE(sale_date) = ? ORDER BY sale_id DESC";
+        String sql = "SELECT * FROM sale WHERE sale_date >= ? AND sale_date < ? ORDER BY sale_id DESC";
 
         try (Connection conn = JDBC.connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setDate(1, Date.valueOf(date.toLocalDate()));
+            JDBC.setDateRange(stmt, 1, date.toLocalDate(), date.toLocalDate().plusDays(1));
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     sales.add(new Sale(
                             rs.getInt("sale_id"),
                             rs.getTimestamp("sale_date").toLocalDateTime(),
                             rs.getInt("sale_qty"),
-                            rs.getDouble("total_amount")
+                            JDBC.getMoney(rs, "total_amount")
                     ));
                 }
             }
@@ -68,77 +68,192 @@ public class SaleDAO {
     /**
      * Returns the total sale amount for a specific date.
      */
-    public static double getDailyTotal(LocalDateTime date) throws SQLException {
-        String sql = "SELECT SUM(total_amount) FROM sale WHERE DATE(sale_date) = ?";
+    public static Money getDailyTotal(LocalDateTime date) throws SQLException {
+        String sql = "SELECT SUM(total_amount) FROM sale WHERE sale_date >= ? AND sale_date < ?";
         try (Connection conn = JDBC.connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setDate(1, Date.valueOf(date.toLocalDate()));
+            JDBC.setDateRange(stmt, 1, date.toLocalDate(), date.toLocalDate().plusDays(1));
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getDouble(1);
+                    return JDBC.getMoney(rs, 1);
                 }
             }
         }
 
-        return 0.0;
+        return Money.ZERO;
     }
 
     /**
      * Returns today's total sale amount.
      */
-    public static double getTodaySalesTotal() {
+    public static Money getTodaySalesTotal() {
         String sql = """
             SELECT SUM(total_amount) FROM sale
-            WHERE DATE(sale_date) = CURDATE()
+            WHERE sale_date >= ? AND sale_date < ?
         """;
+        LocalDate today = LocalDate.now();
 
         try (Connection conn = JDBC.connect();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            if (rs.next()) {
-                return rs.getDouble(1);
+            JDBC.setDateRange(stmt, 1, today, today.plusDays(1));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return JDBC.getMoney(rs, 1);
+                }
             }
 
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error fetching today's sales total", e);
         }
 
-        return 0.0;
+        return Money.ZERO;
     }
 
     /**
      * Returns sales along with their sale items for the specified date.
      */
     public static List<Sale> getSalesByDate(LocalDate date) {
-        List<Sale> sales = new ArrayList<>();
-        String sql = "SELECT * FROM sale WHERE DATE(sale_date) = ? ORDER BY sale_date DESC";
+        return getSalesWithItems(date, date.plusDays(1));
+    }
 
-        try (Connection conn = JDBC.connect();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Returns sales made from the start of {@code from} up to (but excluding) the start of
+     * {@code toExclusive}, newest first, each with its sale items attached.
+     * Loads the whole graph with two queries on one connection instead of one query per sale.
+     */
+    public static List<Sale> getSalesWithItems(LocalDate from, LocalDate toExclusive) {
+        Map<Integer, Sale> salesById = new LinkedHashMap<>();
 
-            stmt.setDate(1, Date.valueOf(date));
-            ResultSet rs = stmt.executeQuery();
+        String saleSql = """
+            SELECT * FROM sale
+            WHERE sale_date >= ? AND sale_date < ?
+            ORDER BY sale_date DESC
+        """;
+        String itemSql = """
+            SELECT si.*, p.product_name, p.product_price, c.category_name
+            FROM sale_item si
+            JOIN sale s ON si.sale_id = s.sale_id
+            JOIN product p ON si.product_id = p.product_id
+            JOIN category c ON p.category_id = c.category_id
+            WHERE s.sale_date >= ? AND s.sale_date < ?
+            ORDER BY si.sale_id, si.si_id
+        """;
 
-            while (rs.next()) {
-                Sale sale = new Sale();
-                sale.setSaleId(rs.getInt("sale_id"));
-                sale.setSaleDate(rs.getTimestamp("sale_date").toLocalDateTime());
-                sale.setSaleQty(rs.getInt("sale_qty"));
-                sale.setTotalAmount(rs.getDouble("total_amount"));
+        try (Connection conn = JDBC.connect()) {
+            try (PreparedStatement stmt = conn.prepareStatement(saleSql)) {
+                JDBC.setDateRange(stmt, 1, from, toExclusive);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Sale sale = extractSale(rs);
+                        salesById.put(sale.getSaleId(), sale);
+                    }
+                }
+            }
+
+            if (!salesById.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(itemSql)) {
+                    JDBC.setDateRange(stmt, 1, from, toExclusive);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            SaleItem item = SaleItemDAO.extractSaleItem(rs);
+                            // Skip items of sales committed between the two queries
+                            Sale sale = salesById.get(item.getSaleId());
+                            if (sale != null) {
+                                sale.getSaleItems().add(item);
+                            }
+                        }
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving sales between " + from + " and " + toExclusive, e);
+        }
 
-                List<SaleItem> items = SaleItemDAO.getSaleItemsBySaleId(sale.getSaleId());
-                sale.setSaleItems(items);
+        return new ArrayList<>(salesById.values());
+    }
 
-                sales.add(sale);
+    /**
+     * Returns up to limit of the most recent sales with items made on the given date, newest first,
+     * each with its sale items attached. Uses two queries on one connection.
+     */
+    public static List<Sale> getRecentSalesWithItems(LocalDate date, int limit) {
+        Map<Integer, Sale> salesById = new LinkedHashMap<>();
+
+        String saleSql = """
+            SELECT * FROM sale s
+            WHERE s.sale_date >= ? AND s.sale_date < ?
+              AND EXISTS (SELECT 1 FROM sale_item si WHERE si.sale_id = s.sale_id)
+            ORDER BY s.sale_date DESC, s.sale_id DESC
+            LIMIT ?
+        """;
+
+        try (Connection conn = JDBC.connect()) {
+            try (PreparedStatement stmt = conn.prepareStatement(saleSql)) {
+                JDBC.setDateRange(stmt, 1, date, date.plusDays(1));
+                stmt.setInt(3, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Sale sale = extractSale(rs);
+                        salesById.put(sale.getSaleId(), sale);
+                    }
+                }
+            }
+
+            if (!salesById.isEmpty()) {
+                String itemSql = """
+                    SELECT si.*, p.product_name, p.product_price, c.category_name
+                    FROM sale_item si
+                    JOIN product p ON si.product_id = p.product_id
+                    JOIN category c ON p.category_id = c.category_id
+                    WHERE si.sale_id IN (%s)
+                    ORDER BY si.sale_id, si.si_id
+                """.formatted(String.join(", ", Collections.nCopies(salesById.size(), "?")));
+
+                try (PreparedStatement stmt = conn.prepareStatement(itemSql)) {
+                    int index = 1;
+                    for (int saleId : salesById.keySet()) {
+                        stmt.setInt(index++, saleId);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            SaleItem item = SaleItemDAO.extractSaleItem(rs);
+                            salesById.get(item.getSaleId()).getSaleItems().add(item);
+                        }
+                    }
+                }
             }
 
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error retrieving sales by date", e);
+            logger.log(Level.SEVERE, "Error retrieving recent sales for " + date, e);
         }
 
-        return sales;
+        return new ArrayList<>(salesById.values());
+    }
+
+    /**
+     * Returns the number of sales made on the specified date.
+     */
+    public static int getSaleCountByDate(LocalDate date) {
+        String sql = "SELECT COUNT(*) FROM sale WHERE sale_date >= ? AND sale_date < ?";
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            JDBC.setDateRange(stmt, 1, date, date.plusDays(1));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error counting sales for " + date, e);
+        }
+
+        return 0;
     }
 
     /**
@@ -164,12 +279,14 @@ public class SaleDAO {
     }
 
     /**
-     * Inserts a sale and its associated sale items in one transaction.
-     * Returns the generated sale ID.
+     * Inserts a sale and its associated sale items in one transaction. Returns the generated
+     * sale ID. Each item keeps the category its product had in the cart, which is what the
+     * daily rollups count it under. The caller adds the sale to the rollups with
+     * {@link SalesSummaryDAO#recordSale} just before committing.
      */
     public static int insertSale(Connection conn, Sale sale, List<CartItem> items) throws SQLException {
         String saleSql = "INSERT INTO sale (sale_qty, sale_date, total_amount) VALUES (?, ?, ?)";
-        String itemSql = "INSERT INTO sale_item (sale_id, product_id, si_qty, si_price, si_date) VALUES (?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO sale_item (sale_id, product_id, si_qty, si_price, si_date, si_category_id) VALUES (?, ?, ?, ?, ?, ?)";
 
         PreparedStatement saleStmt = null;
         ResultSet rs = null;
@@ -178,7 +295,7 @@ public class SaleDAO {
             saleStmt = conn.prepareStatement(saleSql, Statement.RETURN_GENERATED_KEYS);
             saleStmt.setInt(1, sale.getSaleQty());
             saleStmt.setTimestamp(2, Timestamp.valueOf(sale.getSaleDate()));
-            saleStmt.setDouble(3, sale.getTotalAmount());
+            JDBC.setMoney(saleStmt, 3, sale.getTotalAmount());
 
             int affected = saleStmt.executeUpdate();
             if (affected == 0) throw new SQLException("No rows inserted for sale.");
@@ -192,8 +309,9 @@ public class SaleDAO {
                         itemStmt.setInt(1, saleId);
                         itemStmt.setInt(2, item.getProduct().getProductId());
                         itemStmt.setInt(3, item.getQuantity());
-                        itemStmt.setDouble(4, item.getProduct().getProductPrice());
+                        JDBC.setMoney(itemStmt, 4, item.getProduct().getProductPrice());
                         itemStmt.setTimestamp(5, Timestamp.valueOf(sale.getSaleDate()));
+                        itemStmt.setInt(6, item.getProduct().getCategoryId());
                         itemStmt.addBatch();
                     }
                     itemStmt.executeBatch();
@@ -248,7 +366,7 @@ public class SaleDAO {
                 Sale sale = new Sale();
                 sale.setSaleId(saleId);
                 sale.setSaleDate(rs.getTimestamp("sale_date").toLocalDateTime());
-                sale.setTotalAmount(rs.getDouble("total_amount"));
+                sale.setTotalAmount(JDBC.getMoney(rs, "total_amount"));
                 sale.setSaleQty(rs.getInt("sale_qty"));
                 return sale;
             }
@@ -259,4 +377,16 @@ public class SaleDAO {
 
         return null;
     }
+
+    /**
+     * Utility method that maps a ResultSet row to a Sale object without its items.
+     */
+    private static Sale extractSale(ResultSet rs) throws SQLException {
+        Sale sale = new Sale();
+        sale.setSaleId(rs.getInt("sale_id"));
+        sale.setSaleDate(rs.getTimestamp("sale_date").toLocalDateTime());
+        sale.setSaleQty(rs.getInt("sale_qty"));
+        sale.setTotalAmount(JDBC.getMoney(rs, "total_amount"));
+        return sale;
+    }
 }
\ No newline at end of file
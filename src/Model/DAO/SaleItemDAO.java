@@ -5,7 +5,6 @@ import Model.POJO.CartItem;
 import Model.POJO.Product;
 import Model.POJO.SaleItem;
 import java.sql.*;
-import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,7 +30,7 @@ public class SaleItemDAO {
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, saleItem.getProductId());
             stmt.setInt(2, saleItem.getSiQty());
-            stmt.setDouble(3, saleItem.getSiPrice());
+            JDBC.setMoney(stmt, 3, saleItem.getSiPrice());
             return stmt.executeUpdate() > 0;
         }
     }
@@ -45,7 +44,7 @@ public class SaleItemDAO {
             stmt.setInt(1, saleId);
             stmt.setInt(2, item.getProduct().getProductId());
             stmt.setInt(3, item.getQuantity());
-            stmt.setDouble(4, item.getSubtotal());
+            JDBC.setMoney(stmt, 4, item.getSubtotal());
             stmt.setTimestamp(5, Timestamp.valueOf(saleDate));
             stmt.executeUpdate();
         }
@@ -75,7 +74,7 @@ public class SaleItemDAO {
                             rs.getInt("sale_id"),
                             rs.getInt("product_id"),
                             rs.getInt("si_qty"),
-                            rs.getDouble("si_price"),
+                            JDBC.getMoney(rs, "si_price"),
                             rs.getTimestamp("si_date").toLocalDateTime()
                     );
                     item.setProductName(rs.getString("product_name"));
@@ -135,13 +134,13 @@ public class SaleItemDAO {
             JOIN product p ON si.product_id = p.product_id
             JOIN category c ON p.category_id = c.category_id
             JOIN sale s ON si.sale_id = s.sale_id
-            WHERE DATE(s.sale_date) = ?
+            WHERE s.sale_date >= ? AND s.sale_date < ?
         """;
 
         try (Connection conn = JDBC.connect();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            stmt.setDate(1, Date.valueOf(date));
+            JDBC.setDateRange(stmt, 1, date, date.plusDays(1));
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     SaleItem item = new SaleItem();
@@ -149,7 +148,7 @@ public class SaleItemDAO {
                     item.setProductName(rs.getString("product_name"));
                     item.setCategoryName(rs.getString("category_name"));
                     item.setSiQty(rs.getInt("si_qty"));
-                    item.setSiPrice(rs.getDouble("si_price"));
+                    item.setSiPrice(JDBC.getMoney(rs, "si_price"));
                     items.add(item);
                 }
             }
@@ -180,6 +179,32 @@ public class SaleItemDAO {
         return dates;
     }
 
+    /**
+     * Maps a joined sale_item/product/category row to a SaleItem with its product attached.
+     * Expects si.*, product_name, product_price and category_name in the result set.
+     */
+    static SaleItem extractSaleItem(ResultSet rs) throws SQLException {
+        SaleItem item = new SaleItem(
+                rs.getInt("si_id"),
+                rs.getInt("sale_id"),
+                rs.getInt("product_id"),
+                rs.getInt("si_qty"),
+                JDBC.getMoney(rs, "si_price"),
+                rs.getTimestamp("si_date").toLocalDateTime()
+        );
+        item.setProductName(rs.getString("product_name"));
+        item.setCategoryName(rs.getString("category_name"));
+
+        Product product = new Product();
+        product.setProductId(item.getProductId());
+        product.setProductName(rs.getString("product_name"));
+        product.setProductPrice(JDBC.getMoney(rs, "product_price"));
+        product.setCategoryName(rs.getString("category_name"));
+        item.setProduct(product);
+
+        return item;
+    }
+
     /**
      * Retrieves sale items and product details by sale ID.
      */
@@ -203,13 +228,13 @@ public class SaleItemDAO {
                     item.setSaleId(rs.getInt("sale_id"));
                     item.setProductId(rs.getInt("product_id"));
                     item.setSiQty(rs.getInt("si_qty"));
-                    item.setSiPrice(rs.getDouble("si_price"));
+                    item.setSiPrice(JDBC.getMoney(rs, "si_price"));
                     item.setSiDate(rs.getTimestamp("si_date").toLocalDateTime());
 
                     Product product = new Product();
                     product.setProductId(rs.getInt("product_id"));
                     product.setProductName(rs.getString("product_name"));
-                    product.setProductPrice(rs.getDouble("product_price"));
+                    product.setProductPrice(JDBC.getMoney(rs, "product_price"));
                     item.setProduct(product);
 
                     items.add(item);
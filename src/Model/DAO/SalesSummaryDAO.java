@@ -0,0 +1,528 @@
+package Model.DAO;
+
+import DB.JDBC;
+import Model.POJO.CartItem;
+import Model.POJO.DailySalesSummary;
+import Model.POJO.Sale;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Maintains and reads the pre-aggregated sales rollups.
+ * <p>
+ * daily_sales_summary holds one row per day (sale count, units, revenue) and
+ * daily_product_summary one row per day, category and product. Both are updated inside the
+ * checkout transaction by {@link #recordSale}, so reports read O(days) rows instead of every
+ * sale item. {@link #rebuild} recomputes a date range from the raw sale tables a month at a time
+ * while checkouts keep running, briefly holding back new sales in the month being rebuilt.
+ * <p>
+ * Both paths count a sale item under the category stored on it at sale time (si_category_id),
+ * so moving a product to another category never changes the rollups of past days.
+ */
+public class SalesSummaryDAO {
+
+    private static final Logger logger = Logger.getLogger(SalesSummaryDAO.class.getName());
+
+    // Bounds used by open-ended report queries
+    private static final LocalDate FIRST_DAY = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 1, 1);
+
+    // Largest range rebuilt in one transaction
+    private static final Period CHUNK = Period.ofMonths(1);
+
+    /**
+     * Adds a sale and its cart lines to the rollups. Used within the transaction that inserts
+     * the sale, as its last step before commit: every checkout of the day upserts the same
+     * daily_sales_summary row, so its lock should be held as briefly as possible. Product rows
+     * are upserted in product ID order and the day row last, so concurrent checkouts lock rows
+     * in the same order. Items are counted under their cart product's category, the same one
+     * {@link SaleDAO#insertSale} stores on the sale item.
+     */
+    public static void recordSale(Connection conn, Sale sale, List<CartItem> items) throws SQLException {
+        Date day = Date.valueOf(sale.getSaleDate().toLocalDate());
+        List<CartItem> byProductId = new ArrayList<>(items);
+        byProductId.sort(Comparator.comparingInt(item -> item.getProduct().getProductId()));
+
+        String productSql = """
+            INSERT INTO daily_product_summary
+                (summary_date, category_id, product_id, sale_count, total_qty, total_revenue)
+            VALUES (?, ?, ?, 1, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sale_count = sale_count + 1,
+                total_qty = total_qty + VALUES(total_qty),
+                total_revenue = total_revenue + VALUES(total_revenue)
+        """;
+        try (PreparedStatement stmt = conn.prepareStatement(productSql)) {
+            for (CartItem item : byProductId) {
+                stmt.setDate(1, day);
+                stmt.setInt(2, item.getProduct().getCategoryId());
+                stmt.setInt(3, item.getProduct().getProductId());
+                stmt.setInt(4, item.getQuantity());
+                JDBC.setMoney(stmt, 5, item.getTotal());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        String daySql = """
+            INSERT INTO daily_sales_summary (summary_date, sale_count, total_qty, total_revenue)
+            VALUES (?, 1, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sale_count = sale_count + 1,
+                total_qty = total_qty + VALUES(total_qty),
+                total_revenue = total_revenue + VALUES(total_revenue)
+        """;
+        try (PreparedStatement stmt = conn.prepareStatement(daySql)) {
+            stmt.setDate(1, day);
+            stmt.setInt(2, sale.getSaleQty());
+            JDBC.setMoney(stmt, 3, sale.getTotalAmount());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recomputes both rollups for the day range [from, toExclusive) from the sale tables.
+     */
+    public static void rebuild(LocalDate from, LocalDate toExclusive) throws SQLException {
+        try (Connection conn = JDBC.connect()) {
+            if (conn == null) throw new SQLException("No database connection available.");
+            rebuild(conn, from, toExclusive);
+        }
+    }
+
+    /**
+     * Recomputes both rollups for the day range [from, toExclusive) using the given connection,
+     * which must not be inside a transaction. A null bound means the start or end of the history.
+     * <p>
+     * Works through the range one month per transaction (see {@link #rebuildRange}), so live
+     * checkouts are only held back while the month containing their sale date is rebuilt.
+     */
+    public static void rebuild(Connection conn, LocalDate from, LocalDate toExclusive) throws SQLException {
+        LocalDate start = from;
+        LocalDate end = toExclusive;
+        if (start == null || end == null) {
+            LocalDate[] history = historyBounds(conn);
+            if (history == null) return;
+            if (start == null) start = history[0];
+            if (end == null) end = history[1];
+        }
+
+        LocalDate chunkStart = start;
+        while (chunkStart.isBefore(end)) {
+            LocalDate chunkEnd = min(chunkStart.plus(CHUNK), end);
+            LocalDate rangeStart = chunkStart;
+            inTransaction(conn, () -> {
+                rebuildRange(conn, rangeStart, chunkEnd);
+                return null;
+            });
+            chunkStart = chunkEnd;
+        }
+    }
+
+    /**
+     * Rebuilds the oldest month still pending in the backfill registered by the schema migration,
+     * as one transaction, and returns whether more months remain. The progress row is locked
+     * first, so terminals running the backfill at the same time take turns, each on the next month.
+     */
+    public static boolean backfillNextMonth(Connection conn) throws SQLException {
+        return inTransaction(conn, () -> {
+            String sql = "SELECT next_day, end_day FROM sales_summary_backfill WHERE id = 1 FOR UPDATE";
+            LocalDate next;
+            LocalDate end;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                if (!rs.next() || rs.getDate("next_day") == null) return false;
+                next = rs.getDate("next_day").toLocalDate();
+                end = rs.getDate("end_day").toLocalDate();
+            }
+
+            LocalDate chunkEnd = min(next.plus(CHUNK), end);
+            rebuildRange(conn, next, chunkEnd);
+
+            boolean more = chunkEnd.isBefore(end);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE sales_summary_backfill SET next_day = ? WHERE id = 1")) {
+                stmt.setDate(1, more ? Date.valueOf(chunkEnd) : null);
+                stmt.executeUpdate();
+            }
+            return more;
+        });
+    }
+
+    // Recomputes both rollups for [start, end) inside the caller's REPEATABLE READ transaction.
+    // The range's sale rows are share-locked first: checkouts that already inserted a sale in the
+    // range commit first, and new ones wait at their sale insert until the transaction commits.
+    // Items sold before their category was recorded get their product's current one, once.
+    // Rows are then upserted with the recomputed totals rather than deleted and reinserted, and
+    // only rows no sale backs any more are removed, so reports never see the range empty.
+    private static void rebuildRange(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        int sales = lockSales(conn, start, end);
+        recordMissingCategories(conn, start, end);
+        int days = upsertSummaries(conn, start, end);
+        int removed = deleteStaleSummaries(conn, start, end);
+        logger.info("Rebuilt sales summaries for " + days + " day(s) and " + sales + " sale(s) between "
+                + start + " and " + end + ", removed " + removed + " stale row(s)");
+    }
+
+    // First day and the day after the last one with sales or rollup rows, or null if there are none
+    private static LocalDate[] historyBounds(Connection conn) throws SQLException {
+        String sql = """
+            SELECT MIN(first_day), MAX(last_day) FROM (
+                SELECT DATE(MIN(sale_date)) AS first_day, DATE(MAX(sale_date)) AS last_day FROM sale
+                UNION ALL
+                SELECT MIN(summary_date), MAX(summary_date) FROM daily_sales_summary
+                UNION ALL
+                SELECT MIN(summary_date), MAX(summary_date) FROM daily_product_summary
+            ) AS bounds
+        """;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next() || rs.getDate(1) == null) return null;
+            return new LocalDate[]{rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate().plusDays(1)};
+        }
+    }
+
+    // Runs work as one REPEATABLE READ transaction, then restores the connection's settings
+    private static <T> T inTransaction(Connection conn, SqlWork<T> work) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        int isolation = conn.getTransactionIsolation();
+        conn.setAutoCommit(false);
+        conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        try {
+            T result = work.run();
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setTransactionIsolation(isolation);
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // Share-locks the range's sales (and the gaps between them) until commit, returning their count
+    private static int lockSales(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM sale WHERE sale_date >= ? AND sale_date < ? LOCK IN SHARE MODE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            JDBC.setDateRange(stmt, 1, start, end);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    // Stores the product's current category on the range's items that predate si_category_id
+    private static void recordMissingCategories(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        String sql = """
+            UPDATE sale_item si
+            JOIN sale s ON si.sale_id = s.sale_id
+            JOIN product p ON si.product_id = p.product_id
+            SET si.si_category_id = p.category_id
+            WHERE s.sale_date >= ? AND s.sale_date < ?
+              AND si.si_category_id IS NULL
+        """;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            JDBC.setDateRange(stmt, 1, start, end);
+            stmt.executeUpdate();
+        }
+    }
+
+    // Overwrites the rollup rows of the range with totals recomputed from the sale tables
+    private static int upsertSummaries(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        String daySql = """
+            INSERT INTO daily_sales_summary (summary_date, sale_count, total_qty, total_revenue)
+            SELECT DATE(sale_date), COUNT(*), SUM(sale_qty), SUM(total_amount)
+            FROM sale
+            WHERE sale_date >= ? AND sale_date < ?
+            GROUP BY DATE(sale_date)
+            ON DUPLICATE KEY UPDATE
+                sale_count = VALUES(sale_count),
+                total_qty = VALUES(total_qty),
+                total_revenue = VALUES(total_revenue)
+        """;
+        String productSql = """
+            INSERT INTO daily_product_summary
+                (summary_date, category_id, product_id, sale_count, total_qty, total_revenue)
+            SELECT DATE(s.sale_date), si.si_category_id, si.product_id,
+                   COUNT(*), SUM(si.si_qty), SUM(si.si_qty * si.si_price)
+            FROM sale_item si
+            JOIN sale s ON si.sale_id = s.sale_id
+            WHERE s.sale_date >= ? AND s.sale_date < ?
+            GROUP BY DATE(s.sale_date), si.si_category_id, si.product_id
+            ON DUPLICATE KEY UPDATE
+                sale_count = VALUES(sale_count),
+                total_qty = VALUES(total_qty),
+                total_revenue = VALUES(total_revenue)
+        """;
+
+        int days;
+        try (PreparedStatement stmt = conn.prepareStatement(daySql)) {
+            JDBC.setDateRange(stmt, 1, start, end);
+            days = stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(productSql)) {
+            JDBC.setDateRange(stmt, 1, start, end);
+            stmt.executeUpdate();
+        }
+        return days;
+    }
+
+    // Removes rollup rows of the range that no sale backs any more (deleted sales, recategorized items)
+    private static int deleteStaleSummaries(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        String daySql = """
+            DELETE FROM daily_sales_summary
+            WHERE summary_date >= ? AND summary_date < ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM sale s
+                  WHERE s.sale_date >= daily_sales_summary.summary_date
+                    AND s.sale_date < daily_sales_summary.summary_date + INTERVAL 1 DAY
+              )
+        """;
+        String productSql = """
+            DELETE FROM daily_product_summary
+            WHERE summary_date >= ? AND summary_date < ?
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM sale_item si
+                  JOIN sale s ON si.sale_id = s.sale_id
+                  WHERE si.product_id = daily_product_summary.product_id
+                    AND si.si_category_id = daily_product_summary.category_id
+                    AND s.sale_date >= daily_product_summary.summary_date
+                    AND s.sale_date < daily_product_summary.summary_date + INTERVAL 1 DAY
+              )
+        """;
+
+        int removed = 0;
+        for (String sql : new String[] {daySql, productSql}) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setDate(1, Date.valueOf(start));
+                stmt.setDate(2, Date.valueOf(end));
+                removed += stmt.executeUpdate();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Retrieves the daily summaries for [from, toExclusive), newest day first.
+     */
+    public static List<DailySalesSummary> getDailySummaries(LocalDate from, LocalDate toExclusive) {
+        List<DailySalesSummary> summaries = new ArrayList<>();
+        String sql = """
+            SELECT summary_date, sale_count, total_qty, total_revenue
+            FROM daily_sales_summary
+            WHERE summary_date >= ? AND summary_date < ?
+            ORDER BY summary_date DESC
+        """;
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(toExclusive));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(extractSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving daily sales summaries", e);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Retrieves up to limit day summaries strictly before the given day (null for no upper bound),
+     * newest first, optionally stopping at notBefore. Uses keyset pagination on the summary_date
+     * primary key, so every page costs the same no matter how far back it is.
+     * hasMore tells whether any older day exists beyond the returned page.
+     */
+    public static SummaryPage getDaysBefore(LocalDate before, LocalDate notBefore, int limit) {
+        List<DailySalesSummary> days = new ArrayList<>();
+        boolean hasMore = false;
+        String sql = """
+            SELECT summary_date, sale_count, total_qty, total_revenue
+            FROM daily_sales_summary
+            WHERE summary_date < ? AND summary_date >= ?
+            ORDER BY summary_date DESC
+            LIMIT ?
+        """;
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(before != null ? before : LAST_DAY));
+            stmt.setDate(2, Date.valueOf(notBefore != null ? notBefore : FIRST_DAY));
+            stmt.setLong(3, (long) limit + 1); // One extra row tells whether another page exists
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    days.add(extractSummary(rs));
+                }
+            }
+
+            if (days.size() > limit) {
+                days.removeLast();
+                hasMore = true;
+            } else if (notBefore != null) {
+                hasMore = hasDayBefore(conn, notBefore);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving sales days before " + before, e);
+        }
+
+        return new SummaryPage(days, hasMore);
+    }
+
+    // True if any summary exists strictly before the given day (a single index probe)
+    private static boolean hasDayBefore(Connection conn, LocalDate day) throws SQLException {
+        String sql = "SELECT 1 FROM daily_sales_summary WHERE summary_date < ? LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(day));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Returns units sold per category name for [from, toExclusive), highest first.
+     */
+    public static Map<String, Integer> getCategoryQuantities(LocalDate from, LocalDate toExclusive, int limit) {
+        String sql = """
+            SELECT c.category_name, SUM(d.total_qty) AS total
+            FROM daily_product_summary d
+            JOIN category c ON d.category_id = c.category_id
+            WHERE d.summary_date >= ? AND d.summary_date < ?
+            GROUP BY c.category_name
+            ORDER BY total DESC, c.category_name
+            LIMIT ?
+        """;
+        return getQuantities(sql, from, toExclusive, limit);
+    }
+
+    /**
+     * Returns units sold per product name for [from, toExclusive), highest first, keeping the
+     * top limit products. Ranked in the database from the daily rollup in a single query.
+     */
+    public static Map<String, Integer> getProductQuantities(LocalDate from, LocalDate toExclusive, int limit) {
+        String sql = """
+            SELECT p.product_name, SUM(d.total_qty) AS total
+            FROM daily_product_summary d
+            JOIN product p ON d.product_id = p.product_id
+            WHERE d.summary_date >= ? AND d.summary_date < ?
+            GROUP BY p.product_name
+            ORDER BY total DESC, p.product_name
+            LIMIT ?
+        """;
+        return getQuantities(sql, from, toExclusive, limit);
+    }
+
+    /**
+     * Runs several ranked quantity queries as one UNION ALL statement on the given connection.
+     * Returns one map per query, in the same order, each highest first.
+     */
+    public static List<Map<String, Integer>> getQuantities(Connection conn, List<QuantityQuery> queries) throws SQLException {
+        List<Map<String, Integer>> results = new ArrayList<>();
+        if (queries.isEmpty()) return results;
+
+        StringJoiner parts = new StringJoiner("\nUNION ALL\n");
+        for (QuantityQuery query : queries) {
+            parts.add(query.byProduct() ? """
+                (SELECT ? AS part, p.product_name AS label, SUM(d.total_qty) AS total
+                 FROM daily_product_summary d
+                 JOIN product p ON d.product_id = p.product_id
+                 WHERE d.summary_date >= ? AND d.summary_date < ?
+                 GROUP BY p.product_name
+                 ORDER BY total DESC, p.product_name
+                 LIMIT ?)""" : """
+                (SELECT ? AS part, c.category_name AS label, SUM(d.total_qty) AS total
+                 FROM daily_product_summary d
+                 JOIN category c ON d.category_id = c.category_id
+                 WHERE d.summary_date >= ? AND d.summary_date < ?
+                 GROUP BY c.category_name
+                 ORDER BY total DESC, c.category_name
+                 LIMIT ?)""");
+            results.add(new LinkedHashMap<>());
+        }
+        String sql = "SELECT part, label, total FROM (\n" + parts + "\n) AS ranked ORDER BY part, total DESC, label";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int i = 0; i < queries.size(); i++) {
+                QuantityQuery query = queries.get(i);
+                stmt.setInt(index++, i);
+                stmt.setDate(index++, Date.valueOf(query.from()));
+                stmt.setDate(index++, Date.valueOf(query.toExclusive()));
+                stmt.setInt(index++, query.limit());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    results.get(rs.getInt("part")).put(rs.getString("label"), rs.getInt("total"));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    // Runs a label/total query over a day range, keeping the query order
+    private static Map<String, Integer> getQuantities(String sql, LocalDate from, LocalDate toExclusive, int limit) {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+
+        try (Connection conn = JDBC.connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(toExclusive));
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving sales totals", e);
+        }
+
+        return totals;
+    }
+
+    private static DailySalesSummary extractSummary(ResultSet rs) throws SQLException {
+        return new DailySalesSummary(
+                rs.getDate("summary_date").toLocalDate(),
+                rs.getInt("sale_count"),
+                rs.getInt("total_qty"),
+                JDBC.getMoney(rs, "total_revenue")
+        );
+    }
+
+    /**
+     * Units sold per product (or per category) for [from, toExclusive), keeping the top limit entries.
+     */
+    public record QuantityQuery(boolean byProduct, LocalDate from, LocalDate toExclusive, int limit) {}
+
+    /**
+     * One page of day summaries, newest first, and whether older days remain.
+     */
+    public record SummaryPage(List<DailySalesSummary> days, boolean hasMore) {}
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+}
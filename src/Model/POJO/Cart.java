@@ -0,0 +1,89 @@
+package Model.POJO;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The cart being rung up: an observable list of lines for the cart table, plus a map from
+ * product ID to line and a running total.
+ * <p>
+ * Adding a product that is already in the cart finds its line through the map, and the
+ * total is adjusted by each added or removed line and each quantity change, so neither
+ * depends on the size of the cart. Lines may be added to or removed from {@link #getItems()}
+ * directly; the map and total follow the list. Use on the FX thread.
+ */
+public class Cart {
+
+    private final ObservableList<CartItem> items = FXCollections.observableArrayList();
+    private final Map<Integer, Line> linesByProductId = new HashMap<>();
+    private final ReadOnlyObjectWrapper<Money> total = new ReadOnlyObjectWrapper<>(Money.ZERO);
+
+    public Cart() {
+        items.addListener((ListChangeListener<CartItem>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(this::untrack);
+                change.getAddedSubList().forEach(this::track);
+            }
+        });
+    }
+
+    public ObservableList<CartItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Adds quantity of the product, to its existing line if it has one. Returns the line.
+     */
+    public CartItem add(Product product, int quantity) {
+        CartItem existing = get(product.getProductId());
+        if (existing != null) {
+            existing.setQuantity(existing.getQuantity() + quantity);
+            return existing;
+        }
+        CartItem item = new CartItem(product, quantity);
+        items.add(item);
+        return item;
+    }
+
+    /**
+     * Returns the line for the product, or null if it is not in the cart.
+     */
+    public CartItem get(int productId) {
+        Line line = linesByProductId.get(productId);
+        return line == null ? null : line.item();
+    }
+
+    public Money getTotal() {
+        return total.get();
+    }
+
+    public ReadOnlyObjectProperty<Money> totalProperty() {
+        return total.getReadOnlyProperty();
+    }
+
+    private void track(CartItem item) {
+        Money price = item.getProduct().getProductPrice();
+        ChangeListener<Number> onQuantity = (obs, oldQty, newQty) ->
+                total.set(total.get().plus(price.times(newQty.intValue() - oldQty.intValue())));
+        item.quantityProperty().addListener(onQuantity);
+        linesByProductId.put(item.getProduct().getProductId(), new Line(item, price, onQuantity));
+        total.set(total.get().plus(price.times(item.getQuantity())));
+    }
+
+    private void untrack(CartItem item) {
+        Line line = linesByProductId.get(item.getProduct().getProductId());
+        if (line == null || line.item() != item) return;
+        linesByProductId.remove(item.getProduct().getProductId());
+        item.quantityProperty().removeListener(line.onQuantity());
+        total.set(total.get().plus(line.price().times(-item.getQuantity())));
+    }
+
+    // The price is kept so a later catalog price change cannot unbalance the total
+    private record Line(CartItem item, Money price, ChangeListener<Number> onQuantity) {}
+}
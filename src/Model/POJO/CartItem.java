@@ -28,15 +28,15 @@ public class CartItem {
         this.quantity.set(quantity);
     }
 
-    public double getTotal() {
-        return product.getProductPrice() * quantity.get();
+    public Money getTotal() {
+        return product.getProductPrice().times(quantity.get());
     }
 
     public IntegerProperty quantityProperty() {
         return quantity;
     }
 
-    public double getSubtotal() {
-        return product.getProductPrice() * quantity.get();
+    public Money getSubtotal() {
+        return product.getProductPrice().times(quantity.get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package Model.POJO;
+
+import java.time.LocalDate;
+
+/**
+ * Represents one day's pre-aggregated sales totals from the daily_sales_summary table.
+ * Includes the number of sales, units sold, and revenue for the day.
+ */
+public class DailySalesSummary {
+    private LocalDate summaryDate;
+    private int saleCount;
+    private int totalQty;
+    private Money totalRevenue = Money.ZERO;
+
+    public DailySalesSummary() {}
+
+    public DailySalesSummary(LocalDate summaryDate, int saleCount, int totalQty, Money totalRevenue) {
+        this.summaryDate = summaryDate;
+        this.saleCount = saleCount;
+        this.totalQty = totalQty;
+        this.totalRevenue = totalRevenue;
+    }
+
+    public LocalDate getSummaryDate() {
+        return summaryDate;
+    }
+
+    public void setSummaryDate(LocalDate summaryDate) {
+        this.summaryDate = summaryDate;
+    }
+
+    public int getSaleCount() {
+        return saleCount;
+    }
+
+    public void setSaleCount(int saleCount) {
+        this.saleCount = saleCount;
+    }
+
+    public int getTotalQty() {
+        return totalQty;
+    }
+
+    public void setTotalQty(int totalQty) {
+        this.totalQty = totalQty;
+    }
+
+    public Money getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(Money totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DailySalesSummary{summaryDate=%s, saleCount=%d, totalQty=%d, totalRevenue=%s}",
+                summaryDate, saleCount, totalQty, totalRevenue
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package Model.POJO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+
+/**
+ * An exact amount of pesos, stored as a whole number of centavos.
+ * <p>
+ * Prices, line totals and sale totals use this instead of double so sums over many rows
+ * are exact. Amounts are rounded half up to the centavo when created from decimals.
+ */
+public record Money(long centavos) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Converts a decimal amount of pesos, rounding half up to the centavo.
+     */
+    public static Money of(BigDecimal pesos) {
+        return ofCentavos(pesos.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    /**
+     * Parses an amount of pesos such as "12.5" or "1234.56".
+     *
+     * @throws NumberFormatException if the text is not a decimal number
+     */
+    public static Money parse(String pesos) {
+        try {
+            return of(new BigDecimal(pesos.trim()));
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + pesos);
+        }
+    }
+
+    /**
+     * Adds up one amount per element, accumulating centavos without intermediate Money objects.
+     */
+    public static <T> Money sum(Iterable<T> items, Function<? super T, Money> amount) {
+        long total = 0;
+        for (T item : items) {
+            total = Math.addExact(total, amount.apply(item).centavos);
+        }
+        return ofCentavos(total);
+    }
+
+    public Money plus(Money other) {
+        return ofCentavos(Math.addExact(centavos, other.centavos));
+    }
+
+    public Money times(int quantity) {
+        return ofCentavos(Math.multiplyExact(centavos, quantity));
+    }
+
+    public boolean isNegative() {
+        return centavos < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(centavos, other.centavos);
+    }
+
+    /**
+     * Returns the plain amount with two decimals, e.g. "1234.50".
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
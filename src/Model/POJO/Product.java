@@ -1,22 +1,27 @@
 package Model.POJO;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents a product in the inventory system.
  * Includes details such as ID, category, name, price, stock, and description.
+ * The SKU (the code on the product's barcode) is optional and null when not set.
  */
 public class Product {
     private int productId;
     private int categoryId;
     private String productName;
     private String description;
-    private double productPrice;
+    private Money productPrice = Money.ZERO;
     private int stock;
     private String categoryName;
+    private String sku;
+    private LocalDateTime updatedAt;
 
     public Product() {}
 
     public Product(int categoryId, String productName, String description,
-                   double productPrice, int stock) {
+                   Money productPrice, int stock) {
         this.categoryId = categoryId;
         this.productName = productName;
         this.description = description;
@@ -25,7 +30,7 @@ public class Product {
     }
 
     public Product(int productId, int categoryId, String productName,
-                   String description, double productPrice, int stock) {
+                   String description, Money productPrice, int stock) {
         this.productId = productId;
         this.categoryId = categoryId;
         this.productName = productName;
@@ -34,6 +39,21 @@ public class Product {
         this.stock = stock;
     }
 
+    /**
+     * Copies every field of another product.
+     */
+    public Product(Product other) {
+        this.productId = other.productId;
+        this.categoryId = other.categoryId;
+        this.productName = other.productName;
+        this.description = other.description;
+        this.productPrice = other.productPrice;
+        this.stock = other.stock;
+        this.categoryName = other.categoryName;
+        this.sku = other.sku;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and setters
     public int getProductId() {
         return productId;
@@ -75,11 +95,11 @@ public class Product {
         this.description = description;
     }
 
-    public double getProductPrice() {
+    public Money getProductPrice() {
         return productPrice;
     }
 
-    public void setProductPrice(double productPrice) {
+    public void setProductPrice(Money productPrice) {
         this.productPrice = productPrice;
     }
 
@@ -91,6 +111,22 @@ public class Product {
         this.stock = stock;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return productName;
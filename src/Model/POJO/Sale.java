@@ -12,19 +12,19 @@ public class Sale {
     private int saleId;
     private LocalDateTime saleDate;
     private int saleQty;
-    private double totalAmount;
+    private Money totalAmount = Money.ZERO;
     private List<SaleItem> saleItems = new ArrayList<>();
 
     public Sale() {}
 
-    public Sale(int saleId, LocalDateTime saleDate, int saleQty, double totalAmount) {
+    public Sale(int saleId, LocalDateTime saleDate, int saleQty, Money totalAmount) {
         this.saleId = saleId;
         this.saleDate = saleDate;
         this.saleQty = saleQty;
         this.totalAmount = totalAmount;
     }
 
-    public Sale(LocalDateTime saleDate, int saleQty, double totalAmount) {
+    public Sale(LocalDateTime saleDate, int saleQty, Money totalAmount) {
         this.saleDate = saleDate;
         this.saleQty = saleQty;
         this.totalAmount = totalAmount;
@@ -54,11 +54,11 @@ public class Sale {
         this.saleQty = saleQty;
     }
 
-    public double getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(double totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
@@ -73,7 +73,7 @@ public class Sale {
     @Override
     public String toString() {
         return String.format(
-                "Sale{saleId=%d, saleDate=%s, saleQty=%d, totalAmount=%.2f}",
+                "Sale{saleId=%d, saleDate=%s, saleQty=%d, totalAmount=%s}",
                 saleId, saleDate, saleQty, totalAmount
         );
     }
@@ -11,7 +11,7 @@ public class SaleItem {
     private int saleId;
     private int productId;
     private int siQty;
-    private double siPrice;
+    private Money siPrice = Money.ZERO;
     private LocalDateTime siDate;
     private String productName;
     private String categoryName;
@@ -20,7 +20,7 @@ public class SaleItem {
     public SaleItem() {}
 
     public SaleItem(int siId, int saleId, int productId,
-                    int siQty, double siPrice, LocalDateTime siDate) {
+                    int siQty, Money siPrice, LocalDateTime siDate) {
         this.siId = siId;
         this.saleId = saleId;
         this.productId = productId;
@@ -77,14 +77,21 @@ public class SaleItem {
         this.siQty = siQty;
     }
 
-    public double getSiPrice() {
+    public Money getSiPrice() {
         return siPrice;
     }
 
-    public void setSiPrice(double siPrice) {
+    public void setSiPrice(Money siPrice) {
         this.siPrice = siPrice;
     }
 
+    /**
+     * Returns the line total (unit price times quantity).
+     */
+    public Money getLineTotal() {
+        return siPrice.times(siQty);
+    }
+
     public LocalDateTime getSiDate() {
         return siDate;
     }
@@ -0,0 +1,174 @@
+package Model.Service;
+
+import DB.JDBC;
+import Model.Cache.MetricsCache;
+import Model.Cache.ProductCatalog;
+import Model.DAO.ProductDAO;
+import Model.DAO.ProductDAO.StockReservation;
+import Model.DAO.SaleDAO;
+import Model.DAO.SalesSummaryDAO;
+import Model.POJO.CartItem;
+import Model.POJO.Money;
+import Model.POJO.Product;
+import Model.POJO.Sale;
+import Monitoring.CheckoutEvent;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Records sales and reduces stock in a single transaction.
+ * <p>
+ * {@link #submit} runs the transaction on a background worker and returns a future, so the
+ * cashier can start the next cart while the previous sale commits. Checkouts from one
+ * terminal are committed one at a time, in the order they were submitted.
+ */
+public class CheckoutService {
+
+    private static final Logger logger = Logger.getLogger(CheckoutService.class.getName());
+
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "checkout-worker");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Queues a checkout for the given cart and returns a future for its result.
+     * The cart is copied first, so the caller may clear or reuse it immediately.
+     * The future fails with a {@link CheckoutException} or SQLException (wrapped in a
+     * CompletionException) if the sale could not be committed.
+     */
+    public static CompletableFuture<CheckoutResult> submit(List<CartItem> cart) {
+        List<CartItem> snapshot = cart.stream()
+                .map(item -> new CartItem(item.getProduct(), item.getQuantity()))
+                .toList();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return checkout(snapshot);
+            } catch (SQLException | CheckoutException e) {
+                throw new CompletionException(e);
+            }
+        }, WORKER);
+    }
+
+    /**
+     * Inserts the sale and its items, reduces stock for every cart line and adds the sale to
+     * the daily rollups, committing only if all lines had enough stock. Runs on the calling thread.
+     */
+    public static CheckoutResult checkout(List<CartItem> cart) throws SQLException, CheckoutException {
+        if (cart.isEmpty()) {
+            throw new CheckoutException("Cart is empty.");
+        }
+
+        CheckoutEvent total = CheckoutEvent.begin("checkout", cart.size());
+        int saleId = 0;
+        boolean succeeded = false;
+        CheckoutEvent phase = CheckoutEvent.begin("connect", cart.size());
+        try (Connection conn = JDBC.connect()) {
+            if (conn == null) {
+                throw new SQLException("No database connection available.");
+            }
+            phase.end(0, true);
+
+            Sale sale = new Sale();
+            StockReservation reservation;
+            conn.setAutoCommit(false); // Begin transaction
+            try {
+                sale.setSaleQty(cart.stream().mapToInt(CartItem::getQuantity).sum());
+                sale.setTotalAmount(Money.sum(cart, CartItem::getTotal));
+                sale.setSaleDate(LocalDateTime.now());
+
+                phase = CheckoutEvent.begin("insertSale", cart.size());
+                saleId = SaleDAO.insertSale(conn, sale, cart);
+                if (saleId <= 0) {
+                    throw new CheckoutException("Failed to complete sale.");
+                }
+                sale.setSaleId(saleId);
+                phase.end(saleId, true);
+
+                // Merge repeated products so each row is decremented once
+                Map<Integer, Integer> quantities = new LinkedHashMap<>();
+                for (CartItem item : cart) {
+                    quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum);
+                }
+
+                phase = CheckoutEvent.begin("reserveStock", cart.size());
+                reservation = ProductDAO.reserveStock(conn, quantities);
+                if (!reservation.isSuccessful()) {
+                    throw new CheckoutException("Not enough stock for: " + productNames(cart, reservation.failedIds()));
+                }
+                phase.end(saleId, true);
+
+                // Last, so the shared daily rollup row stays locked only until the commit
+                phase = CheckoutEvent.begin("recordRollups", cart.size());
+                SalesSummaryDAO.recordSale(conn, sale, cart);
+                phase.end(saleId, true);
+
+                phase = CheckoutEvent.begin("commit", cart.size());
+                conn.commit();
+                phase.end(saleId, true);
+            } catch (SQLException | CheckoutException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+
+            // The sale is committed, so failing to update the local caches must not fail the
+            // checkout; catalog sync still picks the new stock up from the change log
+            phase = CheckoutEvent.begin("applyStock", cart.size());
+            MetricsCache.invalidateAll();
+            try {
+                ProductCatalog.applyStock(reservation.remainingStock());
+                phase.end(saleId, true);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Sale " + saleId + " was committed but the cached catalog could not be updated", e);
+            }
+
+            succeeded = true;
+            logger.info("Sale completed with ID: " + saleId);
+            return new CheckoutResult(sale, reservation.remainingStock());
+        } finally {
+            // Records the phase that threw as failed
+            phase.end(saleId, false);
+            total.end(saleId, succeeded);
+        }
+    }
+
+    // Names of the cart products with the given IDs, for error messages
+    private static String productNames(List<CartItem> cart, List<Integer> productIds) {
+        return cart.stream()
+                .map(CartItem::getProduct)
+                .filter(p -> productIds.contains(p.getProductId()))
+                .map(Product::getProductName)
+                .distinct()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * The committed sale and the new stock level of every product in the cart, keyed by product ID.
+     */
+    public record CheckoutResult(Sale sale, Map<Integer, Integer> updatedStock) {}
+
+    /**
+     * Thrown when a sale cannot be completed for a business reason, such as insufficient stock.
+     */
+    public static class CheckoutException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        public CheckoutException(String message) {
+            super(message);
+        }
+    }
+}
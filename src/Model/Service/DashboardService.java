@@ -0,0 +1,90 @@
+package Model.Service;
+
+import DB.JDBC;
+import Model.DAO.ProductDAO;
+import Model.DAO.ProductDAO.InventoryStats;
+import Model.DAO.SalesSummaryDAO;
+import Model.DAO.SalesSummaryDAO.QuantityQuery;
+import Model.POJO.Money;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Collects the metrics shown on the dashboards.
+ * <p>
+ * A snapshot is read on one connection with two queries: one for the inventory figures
+ * and one UNION ALL for every chart, so the dashboard costs two round trips however many
+ * charts it shows. The time taken is logged and kept in the snapshot.
+ */
+public class DashboardService {
+
+    private static final Logger logger = Logger.getLogger(DashboardService.class.getName());
+
+    private static final int TOP_ENTRIES = 5;
+
+    /**
+     * Loads everything shown on the admin dashboard.
+     */
+    public static DashboardSnapshot loadAdminSnapshot() throws SQLException {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate yearStart = today.withDayOfYear(1);
+
+        List<QuantityQuery> charts = List.of(
+                new QuantityQuery(false, monthStart, monthStart.plusMonths(1), TOP_ENTRIES),
+                new QuantityQuery(false, monthStart.minusMonths(1), monthStart, TOP_ENTRIES),
+                new QuantityQuery(true, yearStart, yearStart.plusYears(1), TOP_ENTRIES),
+                new QuantityQuery(false, today, today.plusDays(1), Integer.MAX_VALUE)
+        );
+
+        try (Connection conn = JDBC.connect()) {
+            if (conn == null) throw new SQLException("No database connection available.");
+
+            InventoryStats stats = ProductDAO.getInventoryStats(conn);
+            List<Map<String, Integer>> totals = SalesSummaryDAO.getQuantities(conn, charts);
+
+            long loadMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("Admin dashboard snapshot loaded in " + loadMillis + " ms");
+
+            return new DashboardSnapshot(
+                    stats.totalProducts(), stats.stockValue(), stats.lowStockCount(),
+                    totals.get(0), totals.get(1), totals.get(2), totals.get(3),
+                    LocalDateTime.now(), loadMillis);
+        }
+    }
+
+    /**
+     * Admin dashboard metrics as of loadedAt. Chart maps are read-only and ordered highest first.
+     */
+    public record DashboardSnapshot(
+            int totalProducts,
+            Money stockValue,
+            int lowStockCount,
+            Map<String, Integer> categorySalesThisMonth,
+            Map<String, Integer> categorySalesLastMonth,
+            Map<String, Integer> topProductsThisYear,
+            Map<String, Integer> categorySalesToday,
+            LocalDateTime loadedAt,
+            long loadMillis) {
+
+        public DashboardSnapshot {
+            categorySalesThisMonth = readOnly(categorySalesThisMonth);
+            categorySalesLastMonth = readOnly(categorySalesLastMonth);
+            topProductsThisYear = readOnly(topProductsThisYear);
+            categorySalesToday = readOnly(categorySalesToday);
+        }
+
+        // Map.copyOf would lose the ranking order
+        private static Map<String, Integer> readOnly(Map<String, Integer> totals) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(totals));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a checkout transaction, or the whole checkout (phase "checkout").
+ */
+@Name("AtariSync.Checkout")
+@Label("Checkout Phase")
+@Category({"AtariSync", "Checkout"})
+@Description("Time spent in one phase of a checkout transaction")
+@StackTrace(false)
+public class CheckoutEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Cart Lines")
+    int lines;
+
+    @Label("Sale ID")
+    int saleId;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    private transient boolean ended;
+
+    /**
+     * Starts timing a phase of a checkout with the given number of cart lines.
+     */
+    public static CheckoutEvent begin(String phase, int lines) {
+        CheckoutEvent event = new CheckoutEvent();
+        event.phase = phase;
+        event.lines = lines;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the phase and records it; saleId is 0 if no sale was inserted yet.
+     * Ending a phase a second time does nothing.
+     */
+    public void end(int saleId, boolean succeeded) {
+        if (ended) return;
+        ended = true;
+        this.saleId = saleId;
+        this.succeeded = succeeded;
+        commit();
+    }
+}
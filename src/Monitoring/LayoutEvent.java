@@ -0,0 +1,37 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import java.util.function.Supplier;
+
+/**
+ * Building a screen's layout on the FX thread after a navigation.
+ */
+@Name("AtariSync.Layout")
+@Label("Layout Build")
+@Category({"AtariSync", "UI"})
+@Description("Time spent building a layout on the FX thread when navigating to it")
+@StackTrace(false)
+public class LayoutEvent extends Event {
+
+    @Label("Layout")
+    String layout;
+
+    /**
+     * Runs build and records how long it took under the given layout name.
+     */
+    public static <T> T timed(String layout, Supplier<T> build) {
+        LayoutEvent event = new LayoutEvent();
+        event.layout = layout;
+        event.begin();
+        try {
+            return build.get();
+        } finally {
+            event.commit();
+        }
+    }
+}
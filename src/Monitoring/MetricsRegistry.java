@@ -0,0 +1,191 @@
+package Monitoring;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of counters, gauges and latency histograms for this terminal.
+ * <p>
+ * A metric is identified by a name and optional label pairs ("method", "ProductDAO.getAll"),
+ * and is created on first use, so callers simply look it up where they record. Collection is
+ * off until {@link MetricsReporter} enables it; instrumented code checks {@link #isEnabled()}
+ * first so normal runs pay nothing. {@link #writeText} renders every metric in the Prometheus
+ * text format, with histograms as summaries in seconds plus a name_max gauge family.
+ */
+public final class MetricsRegistry {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final ConcurrentMap<MetricKey, Object> metrics = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+
+    private MetricsRegistry() {}
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the counter with the given name and labels, creating it on first use.
+     */
+    public static LongAdder counter(String name, String... labels) {
+        return lookup(new MetricKey(name, labels), LongAdder.class, LongAdder::new);
+    }
+
+    /**
+     * Registers a counter whose value is read from elsewhere, such as a running total kept by the pool.
+     */
+    public static void counter(String name, LongSupplier value, String... labels) {
+        metrics.put(new MetricKey(name, labels), new CounterFunction(value));
+    }
+
+    /**
+     * Registers a gauge read whenever the metrics are written.
+     */
+    public static void gauge(String name, LongSupplier value, String... labels) {
+        metrics.put(new MetricKey(name, labels), new Gauge(value));
+    }
+
+    /**
+     * Returns the latency histogram with the given name and labels, creating it on first use.
+     */
+    public static LatencyHistogram histogram(String name, String... labels) {
+        return lookup(new MetricKey(name, labels), LatencyHistogram.class, LatencyHistogram::new);
+    }
+
+    /**
+     * Registers a histogram that is recorded into elsewhere.
+     */
+    public static void register(String name, LatencyHistogram histogram, String... labels) {
+        metrics.put(new MetricKey(name, labels), histogram);
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format, adding a terminal label to each.
+     */
+    public static void writeText(Appendable out, String terminal) throws IOException {
+        Map<MetricKey, Object> sorted = new TreeMap<>(MetricKey.ORDER);
+        sorted.putAll(metrics);
+
+        String family = null;
+        // Maxima of the current summary family, written as their own gauge family after it
+        Map<List<String>, Long> maxima = new LinkedHashMap<>();
+        for (Map.Entry<MetricKey, Object> entry : sorted.entrySet()) {
+            MetricKey key = entry.getKey();
+            List<String> labels = new ArrayList<>(List.of("terminal", terminal));
+            labels.addAll(key.labels());
+            Object metric = entry.getValue();
+
+            if (!key.name().equals(family)) {
+                writeMaxima(out, family, maxima);
+                family = key.name();
+                out.append("# TYPE ").append(family).append(' ').append(typeOf(metric)).append('\n');
+            }
+            switch (metric) {
+                case LongAdder counter -> sample(out, key.name(), labels, counter.sum());
+                case CounterFunction counter -> sample(out, key.name(), labels, counter.value().getAsLong());
+                case Gauge gauge -> sample(out, key.name(), labels, gauge.value().getAsLong());
+                case LatencyHistogram histogram -> {
+                    writeSummary(out, key.name(), labels, histogram);
+                    maxima.put(labels, histogram.getMaxNanos());
+                }
+                default -> throw new IllegalStateException("Unknown metric " + metric);
+            }
+        }
+        writeMaxima(out, family, maxima);
+    }
+
+    private static void writeSummary(Appendable out, String name, List<String> labels,
+                                     LatencyHistogram histogram) throws IOException {
+        double[] percentiles = new double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            percentiles[i] = QUANTILES[i] * 100;
+        }
+        long[] values = histogram.getValuesAtPercentiles(percentiles);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            List<String> withQuantile = new ArrayList<>(labels);
+            withQuantile.add("quantile");
+            withQuantile.add(Double.toString(QUANTILES[i]));
+            sample(out, name, withQuantile, seconds(values[i]));
+        }
+        sample(out, name + "_sum", labels, seconds(histogram.getSumNanos()));
+        sample(out, name + "_count", labels, histogram.getCount());
+    }
+
+    // Summaries have no max sample, so the largest value of each histogram is a separate gauge
+    private static void writeMaxima(Appendable out, String family, Map<List<String>, Long> maxima) throws IOException {
+        if (maxima.isEmpty()) return;
+
+        out.append("# TYPE ").append(family).append("_max gauge\n");
+        for (Map.Entry<List<String>, Long> max : maxima.entrySet()) {
+            sample(out, family + "_max", max.getKey(), seconds(max.getValue()));
+        }
+        maxima.clear();
+    }
+
+    private static void sample(Appendable out, String name, List<String> labels, Object value) throws IOException {
+        out.append(name).append('{');
+        for (int i = 0; i < labels.size(); i += 2) {
+            if (i > 0) out.append(',');
+            out.append(labels.get(i)).append("=\"").append(escape(labels.get(i + 1))).append('"');
+        }
+        out.append("} ").append(String.valueOf(value)).append('\n');
+    }
+
+    private static String typeOf(Object metric) {
+        return switch (metric) {
+            case LongAdder ignored -> "counter";
+            case CounterFunction ignored -> "counter";
+            case LatencyHistogram ignored -> "summary";
+            default -> "gauge";
+        };
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static <T> T lookup(MetricKey key, Class<T> type, Supplier<T> create) {
+        Object metric = metrics.computeIfAbsent(key, k -> create.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException(key.name() + " is already registered as another kind of metric");
+        }
+        return type.cast(metric);
+    }
+
+    private record CounterFunction(LongSupplier value) {}
+
+    private record Gauge(LongSupplier value) {}
+
+    // Name plus label name/value pairs
+    private record MetricKey(String name, List<String> labels) {
+
+        static final Comparator<MetricKey> ORDER = Comparator.comparing(MetricKey::name)
+                .thenComparing(key -> String.join("\u0000", key.labels()));
+
+        MetricKey(String name, String... labels) {
+            this(name, List.of(labels));
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException("Labels must be name/value pairs: " + this.labels);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package Monitoring;
+
+import DB.JDBC;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes {@link MetricsRegistry} in the Prometheus text format, to a file that is rewritten
+ * periodically and/or from an HTTP endpoint on the loopback interface.
+ * <p>
+ * Configured in config.properties (or system properties):
+ *   "metrics.file – file to rewrite with the current metrics"
+ *   "metrics.intervalSeconds – how often the file is rewritten (default 60)"
+ *   "metrics.port – serve the metrics at http://127.0.0.1:port/metrics"
+ *   "metrics.terminal – terminal label on every metric (default: host name)"
+ * With neither a file nor a port, metrics are not collected at all.
+ */
+public final class MetricsReporter {
+
+    private static final Logger logger = Logger.getLogger(MetricsReporter.class.getName());
+
+    private static ScheduledExecutorService worker;
+    private static HttpServer server;
+    private static Path file;
+    private static String terminal;
+
+    private MetricsReporter() {}
+
+    /**
+     * Enables metric collection and starts publishing, if configured. Calling it again has no effect.
+     */
+    public static synchronized void start() {
+        if (worker != null) return;
+
+        String filePath = JDBC.getProperty("metrics.file", null);
+        long port = JDBC.getLongProperty("metrics.port", 0);
+        if (filePath == null && port <= 0) {
+            logger.fine("Metrics disabled (no metrics.file or metrics.port configured)");
+            return;
+        }
+
+        terminal = JDBC.getProperty("metrics.terminal", hostName());
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        MetricsRegistry.enable();
+
+        if (filePath != null) {
+            file = Path.of(filePath);
+            long intervalSeconds = Math.max(1, JDBC.getLongProperty("metrics.intervalSeconds", 60));
+            worker.scheduleWithFixedDelay(MetricsReporter::writeFileSafely, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+            logger.info("Writing metrics to " + file + " every " + intervalSeconds + " s");
+        }
+        if (port > 0) {
+            startServer((int) port);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(MetricsReporter::stop, "metrics-reporter-shutdown"));
+    }
+
+    /**
+     * Writes the metrics file one last time and stops the endpoint, whose thread would
+     * otherwise keep the JVM running.
+     */
+    public static synchronized void stop() {
+        if (worker == null) return;
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        worker.shutdownNow();
+        worker = null;
+        if (file != null) {
+            writeFileSafely();
+        }
+    }
+
+    /**
+     * Returns the current metrics in the Prometheus text format.
+     */
+    public static String render() {
+        StringBuilder text = new StringBuilder();
+        try {
+            MetricsRegistry.writeText(text, terminal == null ? hostName() : terminal);
+        } catch (IOException e) {
+            throw new IllegalStateException("StringBuilder cannot fail", e);
+        }
+        return text.toString();
+    }
+
+    private static void startServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = render().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(worker);
+            server.start();
+            logger.info("Serving metrics at http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            server = null;
+            logger.log(Level.WARNING, "Failed to start metrics endpoint on port " + port, e);
+        }
+    }
+
+    // Writes a temporary file and moves it into place, so a reader never sees half a dump
+    private static void writeFileSafely() {
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write(render());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to write metrics to " + file, e);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One SQL statement run on a pooled connection, from execute until its result set was closed.
+ */
+@Name("AtariSync.Query")
+@Label("Database Query")
+@Category({"AtariSync", "Database"})
+@Description("A SQL statement from execute until its results were read")
+@StackTrace(false)
+class QueryEvent extends Event {
+
+    @Label("Caller")
+    @Description("DAO method (or other class) that ran the statement")
+    String caller;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows read, rows changed by an update, or -1 if the statement failed")
+    long rows;
+
+    @Label("Connection Wait")
+    @Description("Time spent waiting for the pooled connection the statement ran on")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionWait;
+}
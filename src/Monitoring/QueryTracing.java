@@ -0,0 +1,266 @@
+package Monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import jdk.jfr.EventType;
+
+/**
+ * Records the work done on pooled connections as {@link QueryEvent}s and in the
+ * {@link MetricsRegistry}.
+ * <p>
+ * While a JFR recording has the query event enabled, or metrics are being collected, every
+ * borrowed connection gets a {@link Call} keyed by the method that borrowed it. A call runs from
+ * the start of the borrow, including any wait for a free connection, until the connection is
+ * closed, so row mapping counts too and a DAO method running several statements gives one
+ * sample in its method's latency histogram. Statements created on the connection are wrapped so
+ * that each execute is recorded as a query event, with the rows of its result set counted as
+ * they are read. Otherwise connections and statements are used as is, so normal runs pay nothing.
+ */
+public final class QueryTracing {
+
+    public static final String CALL_LATENCY = "atarisync_db_call_seconds";
+    public static final String QUERY_ROWS = "atarisync_query_rows_total";
+    public static final String QUERY_ERRORS = "atarisync_query_errors_total";
+
+    private static final EventType QUERY_EVENT = EventType.getEventType(QueryEvent.class);
+
+    private QueryTracing() {}
+
+    /**
+     * Starts a call for a connection being borrowed, or returns null if nothing is recorded.
+     *
+     * @param borrowStart    System.nanoTime() when the borrow began
+     * @param connectionWait nanoseconds spent waiting for the connection
+     */
+    public static Call begin(long borrowStart, long connectionWait) {
+        if (!QUERY_EVENT.isEnabled() && !MetricsRegistry.isEnabled()) {
+            return null;
+        }
+        return new Call(caller(), borrowStart, connectionWait);
+    }
+
+    /**
+     * Wraps a statement created on a pooled connection if its call is being recorded.
+     *
+     * @param statement the driver's statement
+     * @param type      the JDBC interface it was created as (Statement, PreparedStatement, ...)
+     * @param sql       SQL it was prepared with, or null for a plain Statement
+     * @param call      the connection's call, or null if it is not recorded
+     */
+    public static Statement trace(Statement statement, Class<?> type, String sql, Call call) {
+        if (call == null || !type.isInterface() || !type.isInstance(statement)) {
+            return statement;
+        }
+        return (Statement) Proxy.newProxyInstance(
+                QueryTracing.class.getClassLoader(),
+                new Class<?>[]{type},
+                new StatementHandler(statement, sql, call));
+    }
+
+    // First frame outside the pool, JDBC.connect and this package, as "ProductDAO.getAll"
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> !isInfrastructure(f.getClassName()))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith("Monitoring.") || className.startsWith("DB.ConnectionPool")
+                || className.equals("DB.JDBC")
+                || className.startsWith("java.") || className.startsWith("jdk.");
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final Call call;
+        private Execution pending;
+
+        StatementHandler(Statement statement, String sql, Call call) {
+            this.statement = statement;
+            this.sql = sql;
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.equals("close")) {
+                finish();
+            }
+            Object result = call(statement, method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet rs && pending != null) {
+                return countRows(rs);
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            // Executing again closes the previous result set
+            finish();
+
+            String text = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            Execution execution = new Execution(call, text);
+
+            Object result;
+            try {
+                result = call(statement, method, args);
+            } catch (Throwable t) {
+                execution.finish(true);
+                throw t;
+            }
+
+            switch (result) {
+                case ResultSet rs -> {
+                    pending = execution;
+                    return countRows(rs);
+                }
+                case Boolean hasResultSet when hasResultSet -> {
+                    pending = execution;
+                    return result;
+                }
+                case Boolean ignored -> execution.rows = statement.getUpdateCount();
+                case Number updated -> execution.rows = updated.longValue();
+                case int[] counts -> execution.rows = sum(counts);
+                case long[] counts -> execution.rows = sum(counts);
+                default -> {}
+            }
+            execution.finish(false);
+            return result;
+        }
+
+        private ResultSet countRows(ResultSet rs) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    QueryTracing.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(rs, this));
+        }
+
+        private void finish() {
+            if (pending != null) {
+                pending.finish(false);
+                pending = null;
+            }
+        }
+
+        private static long sum(int[] counts) {
+            long total = 0;
+            for (int count : counts) total += Math.max(count, 0);
+            return total;
+        }
+
+        private static long sum(long[] counts) {
+            long total = 0;
+            for (long count : counts) total += Math.max(count, 0);
+            return total;
+        }
+    }
+
+    /**
+     * One borrowed connection, from the start of the borrow until the connection was closed.
+     * Used by the borrowing thread only.
+     */
+    public static final class Call {
+        private final String caller;
+        private final long start;
+        private final long connectionWait;
+        private long rows;
+        private long errors;
+        private boolean ended;
+
+        private Call(String caller, long start, long connectionWait) {
+            this.caller = caller;
+            this.start = start;
+            this.connectionWait = connectionWait;
+        }
+
+        /**
+         * Records the call's latency, rows and failed statements; called when the connection is closed.
+         */
+        public void end() {
+            if (ended) return;
+            ended = true;
+
+            if (MetricsRegistry.isEnabled()) {
+                MetricsRegistry.histogram(CALL_LATENCY, "method", caller).record(System.nanoTime() - start);
+                MetricsRegistry.counter(QUERY_ROWS, "method", caller).add(rows);
+                if (errors > 0) {
+                    MetricsRegistry.counter(QUERY_ERRORS, "method", caller).add(errors);
+                }
+            }
+        }
+    }
+
+    // One execute, recorded once its results have been read
+    private static final class Execution {
+        private final Call call;
+        private final QueryEvent event;
+        private long rows;
+
+        Execution(Call call, String sql) {
+            this.call = call;
+            QueryEvent candidate = new QueryEvent();
+            if (candidate.isEnabled()) {
+                candidate.caller = call.caller;
+                candidate.sql = sql;
+                candidate.connectionWait = call.connectionWait;
+                candidate.begin();
+                event = candidate;
+            } else {
+                event = null;
+            }
+        }
+
+        void finish(boolean failed) {
+            if (event != null) {
+                event.rows = failed ? -1 : rows;
+                event.commit();
+            }
+            if (failed) {
+                call.errors++;
+            } else {
+                call.rows += rows;
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet rs;
+        private final StatementHandler owner;
+
+        ResultSetHandler(ResultSet rs, StatementHandler owner) {
+            this.rs = rs;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(rs, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result) && owner.pending != null) owner.pending.rows++;
+                }
+                case "close" -> owner.finish();
+                default -> {}
+            }
+            return result;
+        }
+    }
+}
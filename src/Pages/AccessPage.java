@@ -1,6 +1,5 @@
 package Pages;
 
-import Pages.Layouts.AccessLayout;
 import javafx.application.Application;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
@@ -44,8 +43,16 @@ public class AccessPage extends Application {
 
         logger.info("Application started and stage initialized");
 
-        // Show access layout
-        AccessLayout.show();
+        // Show access layout once the database is ready
+        StartupScreen.show();
+    }
+
+    /**
+     * Stops the background services started once the database was ready.
+     */
+    @Override
+    public void stop() {
+        StartupScreen.shutdown();
     }
 
     /**
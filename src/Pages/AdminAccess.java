@@ -1,5 +1,6 @@
 package Pages;
 
+import Monitoring.LayoutEvent;
 import Pages.Layouts.AccessLayout;
 import Pages.Layouts.Admin.AdminDashboardLayout;
 import Pages.Layouts.Admin.AdminInventoryLayout;
@@ -83,7 +84,7 @@ public class AdminAccess {
         // === Main Layout ===
         BorderPane layout = new BorderPane();
         layout.setLeft(navBar);
-        layout.setCenter(AdminDashboardLayout.build(layout)); // Default view
+        layout.setCenter(LayoutEvent.timed("AdminDashboardLayout", () -> AdminDashboardLayout.build(layout))); // Default view
         layout.setPrefSize(Double.MAX_VALUE, Double.MAX_VALUE);
         BorderPane.setAlignment(navBar, Pos.TOP_LEFT);
 
@@ -94,17 +95,17 @@ public class AdminAccess {
         // === Button Event Handlers ===
         dashboardBtn.setOnAction(e -> {
             logger.info("Dashboard button clicked");
-            layout.setCenter(AdminDashboardLayout.build(layout));
+            layout.setCenter(LayoutEvent.timed("AdminDashboardLayout", () -> AdminDashboardLayout.build(layout)));
         });
 
         inventoryBtn.setOnAction(e -> {
             logger.info("Inventory button clicked");
-            layout.setCenter(AdminInventoryLayout.build());
+            layout.setCenter(LayoutEvent.timed("AdminInventoryLayout", () -> AdminInventoryLayout.build()));
         });
 
         reportsBtn.setOnAction(e -> {
             logger.info("Reports button clicked");
-            layout.setCenter(AdminReportLayout.build(layout));
+            layout.setCenter(LayoutEvent.timed("AdminReportLayout", () -> AdminReportLayout.build(layout)));
         });
 
         logoutBtn.setOnAction(e -> {
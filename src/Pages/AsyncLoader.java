@@ -0,0 +1,117 @@
+package Pages;
+
+import Model.Cache.MetricsCache;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs database work for layouts off the JavaFX application thread.
+ * <p>
+ * Layouts build their skeleton immediately and call {@link #load} for each piece of data;
+ * the query runs on a shared virtual-thread executor and the result is handed back on the
+ * FX thread. If the owner node is removed from the scene before the query finishes
+ * (for example when the user switches tabs), the task is cancelled and its result dropped.
+ * {@link #loadCached} additionally serves dashboard metrics from {@link MetricsCache}.
+ */
+public class AsyncLoader {
+
+    private static final Logger logger = Logger.getLogger(AsyncLoader.class.getName());
+
+    public static final String LOADING_TEXT = "Loading...";
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Runs the query in the background and passes its result to onLoaded on the FX thread.
+     * Failures are logged.
+     */
+    public static <T> Task<T> load(Node owner, Callable<T> query, Consumer<T> onLoaded) {
+        return load(owner, query, onLoaded, null);
+    }
+
+    /**
+     * Runs the query in the background and passes its result to onLoaded on the FX thread.
+     * Failures are logged and passed to onFailed (if given) on the FX thread.
+     */
+    public static <T> Task<T> load(Node owner, Callable<T> query, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return query.call();
+            }
+        };
+
+        task.setOnSucceeded(e -> onLoaded.accept(task.getValue()));
+        task.setOnFailed(e -> {
+            logger.log(Level.SEVERE, "Background load failed", task.getException());
+            if (onFailed != null) {
+                onFailed.accept(task.getException());
+            }
+        });
+
+        if (owner != null) {
+            cancelWhenDetached(owner, task);
+        }
+
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Shows a cached value at once and refreshes it in the background when it is missing or
+     * older than ttl (see {@link MetricsCache}). onLoaded may therefore be called twice, first
+     * with the cached value and then with the fresh one, so it must replace what it shows.
+     * Call on the FX thread.
+     */
+    public static <T> void loadCached(Node owner, String key, Duration ttl, Callable<T> query, Consumer<T> onLoaded) {
+        MetricsCache.Cached<T> cached = MetricsCache.peek(key);
+        if (cached != null) {
+            onLoaded.accept(cached.value());
+        }
+        if (cached == null || !cached.fresh()) {
+            load(owner, () -> MetricsCache.refresh(key, ttl, query), onLoaded);
+        }
+    }
+
+    /**
+     * Returns the shared executor used for background database work.
+     */
+    public static ExecutorService getExecutor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Creates a muted label used as a table or list placeholder while data loads.
+     */
+    public static Label placeholder(String text) {
+        Label label = new Label(text);
+        label.setStyle("-fx-text-fill: #888;");
+        return label;
+    }
+
+    // Cancels the task once the owner leaves the scene (the user navigated away)
+    private static void cancelWhenDetached(Node owner, Task<?> task) {
+        ChangeListener<Scene> listener = (obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null && task.cancel()) {
+                logger.fine("Cancelled background load; view was closed before it finished");
+            }
+        };
+        owner.sceneProperty().addListener(listener);
+
+        task.stateProperty().addListener((obs, oldState, newState) -> {
+            if (task.isDone()) {
+                owner.sceneProperty().removeListener(listener);
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package Pages;
+
+import Model.Cache.CatalogSync;
+import Model.Cache.CatalogSync.CatalogChange;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import java.util.function.Consumer;
+
+/**
+ * Connects layouts to catalog changes synced from other terminals.
+ * <p>
+ * A listener registered with {@link #whileShowing} only receives changes while its owner node
+ * is part of a scene, and is always called on the FX thread.
+ */
+public class CatalogUpdates {
+
+    /**
+     * Calls onChange on the FX thread for every catalog sync while the owner is in a scene.
+     */
+    public static void whileShowing(Node owner, Consumer<CatalogChange> onChange) {
+        Consumer<CatalogChange> listener = change -> Platform.runLater(() -> onChange.accept(change));
+
+        if (owner.getScene() != null) {
+            CatalogSync.addListener(listener);
+        }
+        owner.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null && oldScene == null) {
+                CatalogSync.addListener(listener);
+            } else if (newScene == null) {
+                CatalogSync.removeListener(listener);
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package Pages;
 
+import Monitoring.LayoutEvent;
 import Pages.Layouts.*;
 import Pages.Layouts.Employee.*;
 import javafx.geometry.Insets;
@@ -100,31 +101,31 @@ public class EmployeeAccess {
 
     // Sets the center view to the dashboard
     private static void showDashboard() {
-        layout.setCenter(EmployeeDashboardLayout.build());
+        layout.setCenter(LayoutEvent.timed("EmployeeDashboardLayout", () -> EmployeeDashboardLayout.build()));
         logger.fine("Dashboard view displayed.");
     }
 
     // Sets the center view to the sales page
     private static void showSales() {
-        layout.setCenter(EmployeeSalesLayout.build(layout));
+        layout.setCenter(LayoutEvent.timed("EmployeeSalesLayout", () -> EmployeeSalesLayout.build(layout)));
         logger.fine("Sales view displayed.");
     }
 
     // Sets the center view to the inventory
     private static void showInventory() {
-        layout.setCenter(EmployeeInventoryLayout.build());
+        layout.setCenter(LayoutEvent.timed("EmployeeInventoryLayout", () -> EmployeeInventoryLayout.build()));
         logger.fine("Inventory view displayed.");
     }
 
     // Sets the center view to today's transactions
     private static void showTodaysSales() {
-        layout.setCenter(EmployeeTodaysSalesLogLayout.build());
+        layout.setCenter(LayoutEvent.timed("EmployeeTodaysSalesLogLayout", () -> EmployeeTodaysSalesLogLayout.build()));
         logger.fine("Today's transactions view displayed.");
     }
 
     // Sets the center view to sales log
     private static void showSalesLogs() {
-        layout.setCenter(EmployeeSalesLogLayout.build(layout));
+        layout.setCenter(LayoutEvent.timed("EmployeeSalesLogLayout", () -> EmployeeSalesLogLayout.build(layout)));
         logger.fine("Transaction log view displayed.");
     }
 
@@ -1,7 +1,8 @@
 package Pages.Layouts.Admin;
 
 import DB.*;
-import Model.DAO.*;
+import Model.Service.DashboardService;
+import Pages.AsyncLoader;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -10,8 +11,11 @@ import javafx.scene.Node;
 import javafx.scene.chart.*;
 import javafx.scene.control.Label;
 import javafx.scene.layout.*;
-import java.sql.*;
-import java.util.logging.Level;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -21,6 +25,9 @@ import java.util.logging.Logger;
 public class AdminDashboardLayout {
     private static final Logger LOGGER = Logger.getLogger(AdminDashboardLayout.class.getName());
 
+    private static final String SNAPSHOT_KEY = "admin.dashboard";
+    private static final Duration SNAPSHOT_TTL = Duration.ofSeconds(30);
+
     // Builds the full dashboard layout
     public static VBox build(BorderPane layout) {
         Label title = new Label("Admin Dashboard");
@@ -30,16 +37,16 @@ public class AdminDashboardLayout {
         title.setMaxWidth(Double.MAX_VALUE);
 
         // Stat: Total items
-        VBox totalItems = createStatBox("Total Items", AppFormatter.formatNumber(ProductDAO.getTotalProducts()),
+        VBox totalItems = createStatBox("Total Items", AsyncLoader.LOADING_TEXT,
                 () -> layout.setCenter(AdminInventoryLayout.build(false)));
         totalItems.getStyleClass().add("statbox-count");
 
         // Stat: Total stock value
-        VBox totalStock = createStatBox("Total Stock Value", AppFormatter.formatCurrency(ProductDAO.getTotalStockValue()), null);
+        VBox totalStock = createStatBox("Total Stock Value", AsyncLoader.LOADING_TEXT, null);
         totalStock.getStyleClass().add("statbox-sales");
 
         // Stat: Low/Out of stock
-        VBox outOfStock = createStatBox("Low/Out of Stock", AppFormatter.formatNumber(ProductDAO.getLowStockCount()),
+        VBox outOfStock = createStatBox("Low/Out of Stock", AsyncLoader.LOADING_TEXT,
                 () -> layout.setCenter(AdminInventoryLayout.build(true)));
         outOfStock.getStyleClass().add("statbox-nostock");
 
@@ -51,10 +58,15 @@ public class AdminDashboardLayout {
         HBox.setHgrow(outOfStock, Priority.ALWAYS);
 
         // Charts
-        VBox chart1Container = new VBox(createBarChart("Sales This Month"));
-        VBox chart2Container = new VBox(createBarChart("Sales Last Month"));
-        VBox chart3Container = new VBox(createBarChart("Most Popular Items"));
-        VBox chart4Container = new VBox(createPieChart());
+        BarChart<String, Number> thisMonthChart = createBarChart("Sales This Month", "Category");
+        BarChart<String, Number> lastMonthChart = createBarChart("Sales Last Month", "Category");
+        BarChart<String, Number> popularChart = createBarChart("Most Popular Items", "Product");
+        PieChart todayChart = createPieChart();
+
+        VBox chart1Container = new VBox(thisMonthChart);
+        VBox chart2Container = new VBox(lastMonthChart);
+        VBox chart3Container = new VBox(popularChart);
+        VBox chart4Container = new VBox(todayChart);
 
         for (VBox chart : new VBox[]{chart1Container, chart2Container, chart3Container, chart4Container}) {
             chart.getStyleClass().add("chart-container");
@@ -75,6 +87,22 @@ public class AdminDashboardLayout {
         layoutRoot.getStyleClass().add("root-panel");
         layoutRoot.setAlignment(Pos.TOP_CENTER);
 
+        // All stats and charts come from one snapshot, shown from cache while it refreshes
+        AsyncLoader.loadCached(layoutRoot, SNAPSHOT_KEY, SNAPSHOT_TTL, DashboardService::loadAdminSnapshot, snapshot -> {
+            setStatValue(totalItems, AppFormatter.formatNumber(snapshot.totalProducts()));
+            setStatValue(totalStock, AppFormatter.formatCurrency(snapshot.stockValue()));
+            setStatValue(outOfStock, AppFormatter.formatNumber(snapshot.lowStockCount()));
+
+            setBarChartData(thisMonthChart, truncateLabels(snapshot.categorySalesThisMonth()));
+            setBarChartData(lastMonthChart, snapshot.categorySalesLastMonth());
+            setBarChartData(popularChart, truncateLabels(snapshot.topProductsThisYear()));
+
+            List<PieChart.Data> slices = new ArrayList<>();
+            snapshot.categorySalesToday().forEach((label, value) -> slices.add(new PieChart.Data(label, value)));
+            todayChart.getData().setAll(slices);
+            styleChart(todayChart);
+        });
+
         return layoutRoot;
     }
 
@@ -99,8 +127,13 @@ public class AdminDashboardLayout {
         return box;
     }
 
-    // Creates a bar chart based on chart title
-    private static BarChart<String, Number> createBarChart(String title) {
+    // Replaces the value shown in a stat box once its data has loaded
+    private static void setStatValue(VBox statBox, String valueText) {
+        ((Label) statBox.lookup(".stat-value")).setText(valueText);
+    }
+
+    // Creates an empty bar chart; its data is set once the dashboard snapshot loads
+    private static BarChart<String, Number> createBarChart(String title, String xLabel) {
         CategoryAxis xAxis = new CategoryAxis();
         NumberAxis yAxis = new NumberAxis();
         BarChart<String, Number> barChart = new BarChart<>(xAxis, yAxis);
@@ -108,50 +141,21 @@ public class AdminDashboardLayout {
         barChart.setTitle(title);
         barChart.setLegendVisible(false);
         barChart.getStyleClass().add("dashboard-bar-chart");
+        xAxis.setLabel(xLabel);
+        yAxis.setLabel("Quantity Sold");
         xAxis.setTickLabelRotation(0);
         xAxis.setTickMarkVisible(false);
         yAxis.setTickMarkVisible(true);
         barChart.setHorizontalGridLinesVisible(true);
         barChart.setVerticalGridLinesVisible(false);
 
-        String sql;
-        boolean truncateLabels = false;
-
-        switch (title) {
-            case "Sales This Month" -> {
-                xAxis.setLabel("Category");
-                yAxis.setLabel("Quantity Sold");
-                sql = buildSalesQuery("MONTH(s.sale_date) = MONTH(CURDATE()) AND YEAR(s.sale_date) = YEAR(CURDATE())");
-                truncateLabels = true;
-            }
-            case "Sales Last Month" -> {
-                xAxis.setLabel("Category");
-                yAxis.setLabel("Quantity Sold");
-                sql = buildSalesQuery("MONTH(s.sale_date) = MONTH(CURDATE() - INTERVAL 1 MONTH) AND YEAR(s.sale_date) = YEAR(CURDATE() - INTERVAL 1 MONTH)");
-            }
-            case "Most Popular Items" -> {
-                xAxis.setLabel("Product");
-                yAxis.setLabel("Quantity Sold");
-                truncateLabels = true;
-                sql = """
-                   SELECT p.product_name, SUM(si.si_qty) AS total
-                   FROM sale_item si
-                   JOIN product p ON si.product_id = p.product_id
-                   JOIN sale s ON si.sale_id = s.sale_id
-                   WHERE YEAR(s.sale_date) = YEAR(CURDATE())
-                   GROUP BY p.product_name
-                   ORDER BY total DESC
-                   LIMIT 5
-               """;
-            }
-            default -> {
-                LOGGER.warning("Invalid chart title provided: " + title);
-                barChart.setTitle("Invalid Chart Type");
-                return barChart;
-            }
-        }
+        return barChart;
+    }
 
-        XYChart.Series<String, Number> series = loadChartData(sql, truncateLabels);
+    // Fills a bar chart and rounds its axis up to the next multiple of ten
+    private static void setBarChartData(BarChart<String, Number> barChart, Map<String, Integer> data) {
+        XYChart.Series<String, Number> series = new XYChart.Series<>();
+        data.forEach((label, value) -> series.getData().add(new XYChart.Data<>(label, value)));
 
         if (!series.getData().isEmpty()) {
             int max = series.getData().stream()
@@ -159,55 +163,28 @@ public class AdminDashboardLayout {
                     .max()
                     .orElse(10);
             int upperBound = ((max + 9) / 10) * 10;
+            NumberAxis yAxis = (NumberAxis) barChart.getYAxis();
             yAxis.setAutoRanging(false);
             yAxis.setUpperBound(upperBound);
             yAxis.setTickUnit(upperBound / 5.0);
         }
 
-        barChart.getData().add(series);
-        return barChart;
+        barChart.getData().setAll(List.of(series));
     }
 
-    // Loads chart data from SQL query
-    private static XYChart.Series<String, Number> loadChartData(String sql, boolean truncateLabel) {
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-
-        try (Connection conn = JDBC.connect();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                String label = rs.getString(1);
-                if (truncateLabel && label.length() > 12) {
-                    label = label.substring(0, 10) + "...";
-                }
-                int value = rs.getInt(2);
-                series.getData().add(new XYChart.Data<>(label, value));
+    // Shortens labels longer than 12 characters, merging any that end up the same
+    private static Map<String, Integer> truncateLabels(Map<String, Integer> totals) {
+        Map<String, Integer> data = new LinkedHashMap<>();
+        totals.forEach((label, value) -> {
+            if (label.length() > 12) {
+                label = label.substring(0, 10) + "...";
             }
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error loading chart data", e);
-        }
-
-        return series;
-    }
-
-    // Constructs dynamic sales SQL based on given where clause
-    private static String buildSalesQuery(String whereClause) {
-        return String.format("""
-           SELECT c.category_name, SUM(si.si_qty) AS total
-           FROM sale_item si
-           JOIN product p ON si.product_id = p.product_id
-           JOIN category c ON p.category_id = c.category_id
-           JOIN sale s ON si.sale_id = s.sale_id
-           WHERE %s
-           GROUP BY c.category_name
-           ORDER BY total DESC
-           LIMIT 5
-       """, whereClause);
+            data.merge(label, value, Integer::sum);
+        });
+        return data;
     }
 
-    // Creates pie chart for today's category sales
+    // Creates an empty pie chart for today's category sales
     private static PieChart createPieChart() {
         PieChart chart = new PieChart();
         chart.setTitle("Today's Sales");
@@ -215,30 +192,11 @@ public class AdminDashboardLayout {
         chart.setLegendVisible(false);
         chart.setLegendSide(Side.BOTTOM);
         chart.getStyleClass().add("dashboard-pie-chart");
+        return chart;
+    }
 
-        String sql = """
-          SELECT c.category_name AS label, SUM(si.si_qty) AS value
-          FROM sale s
-          JOIN sale_item si ON s.sale_id = si.sale_id
-          JOIN product p ON si.product_id = p.product_id
-          JOIN category c ON p.category_id = c.category_id
-          WHERE DATE(s.sale_date) = CURDATE()
-          GROUP BY c.category_name
-       """;
-
-        try (Connection conn = JDBC.connect();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                chart.getData().add(new PieChart.Data(rs.getString("label"), rs.getInt("value")));
-            }
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error loading pie chart data", e);
-        }
-
-        // Apply styling after chart is rendered
+    // Applies pie chart styling after the chart has been rendered with its data
+    private static void styleChart(PieChart chart) {
         Platform.runLater(() -> {
             Node bg = chart.lookup(".chart-plot-background");
             if (bg != null) {
@@ -260,7 +218,5 @@ public class AdminDashboardLayout {
             chart.lookupAll(".chart-pie-label").forEach(label ->
                     label.setStyle("-fx-fill: white; -fx-font-size: 13px;"));
         });
-
-        return chart;
     }
 }
\ No newline at end of file
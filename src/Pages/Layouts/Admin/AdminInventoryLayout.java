@@ -2,8 +2,13 @@ package Pages.Layouts.Admin;
 
 import DB.*;
 import Dialogs.*;
+import Model.Cache.ProductCatalog;
+import Model.Cache.ProductSearchIndex;
 import Model.DAO.*;
 import Model.POJO.*;
+import Pages.AsyncLoader;
+import Pages.CatalogUpdates;
+import Pages.SearchPipeline;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -14,9 +19,7 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 
-import java.sql.SQLException;
 import java.util.*;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -46,42 +49,12 @@ public class AdminInventoryLayout {
         searchField.setPromptText("Search items...");
         searchField.getStyleClass().add("input-field");
 
-        // DAO and data load
-        List<Product> productList = new ArrayList<>();
-
-        try {
-            productList = ProductDAO.getAll();
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Failed to load products from database", e);
-            PopUpDialog.showError("Failed to load products.");
-        }
-
-        // Average stock per category
-        Map<String, Double> avgStockPerCategory = productList.stream()
-                .collect(Collectors.groupingBy(
-                        Product::getCategoryName,
-                        Collectors.averagingInt(Product::getStock)
-                ));
-
-        if (showLowOutStock) {
-            productList = productList.stream()
-                    .filter(p -> {
-                        double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
-                        return p.getStock() == 0 || p.getStock() < avg * 0.2;
-                    })
-                    .collect(Collectors.toList());
-        }
+        // Products are loaded in the background once the table is on screen
+        Map<String, Double> avgStockPerCategory = new HashMap<>();
 
         // Category filter
-        List<String> categories = productList.stream()
-                .map(Product::getCategoryName)
-                .distinct()
-                .sorted()
-                .toList();
-
         ComboBox<String> categoryFilter = new ComboBox<>();
         categoryFilter.getItems().add("All Categories");
-        categoryFilter.getItems().addAll(categories);
         categoryFilter.setValue("All Categories");
         categoryFilter.getStyleClass().add("inventory-button");
         categoryFilter.setPrefSize(200, 38);
@@ -107,15 +80,15 @@ public class AdminInventoryLayout {
             @Override
             protected void updateItem(Integer item, boolean empty) {
                 super.updateItem(item, empty);
-                setText(empty || item == null ? null : String.format("%,d", item));
+                setText(empty || item == null ? null : AppFormatter.formatNumber(item));
             }
         });
 
-        TableColumn<Product, Double> priceCol = new TableColumn<>("Price");
+        TableColumn<Product, Money> priceCol = new TableColumn<>("Price");
         priceCol.setCellValueFactory(new PropertyValueFactory<>("productPrice"));
         priceCol.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double item, boolean empty) {
+            protected void updateItem(Money item, boolean empty) {
                 super.updateItem(item, empty);
                 setText(empty || item == null ? null : AppFormatter.formatCurrency(item));
             }
@@ -125,27 +98,48 @@ public class AdminInventoryLayout {
         VBox.setVgrow(table, Priority.ALWAYS);
 
         // Filtering
-        ObservableList<Product> products = FXCollections.observableArrayList(productList);
+        ObservableList<Product> products = FXCollections.observableArrayList();
         FilteredList<Product> filteredList = new FilteredList<>(products, p -> true);
 
-        Runnable updateFilter = () -> {
-            String searchText = searchField.getText().toLowerCase();
-            String selectedCategory = categoryFilter.getValue();
-            filteredList.setPredicate(p -> {
-                boolean matchesSearch = p.getProductName().toLowerCase().contains(searchText)
-                        || p.getCategoryName().toLowerCase().contains(searchText);
-                boolean matchesCategory = "All Categories".equals(selectedCategory)
-                        || selectedCategory.equals(p.getCategoryName());
-                return matchesSearch && matchesCategory;
-            });
-        };
-
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> updateFilter.run());
-        categoryFilter.valueProperty().addListener((obs, oldVal, newVal) -> updateFilter.run());
+        // Name or category matches come from the catalog's search index
+        SearchPipeline<ProductSearchIndex.Query, Set<Integer>> filterSearch = new SearchPipeline<>(
+                searchField,
+                () -> {
+                    String selectedCategory = categoryFilter.getValue();
+                    return new ProductSearchIndex.Query(
+                            searchField.getText(),
+                            "All Categories".equals(selectedCategory) ? null : selectedCategory,
+                            false,
+                            true);
+                },
+                ProductCatalog::searchIds,
+                matches -> filteredList.setPredicate(p -> matches.contains(p.getProductId())));
+
+        filterSearch.watch(searchField.textProperty());
+        categoryFilter.valueProperty().addListener((obs, oldVal, newVal) -> filterSearch.runNow());
 
         SortedList<Product> sortedList = new SortedList<>(filteredList);
         sortedList.comparatorProperty().bind(table.comparatorProperty());
         table.setItems(sortedList);
+        table.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
+
+        // Reloads every product off the FX thread and re-applies filters and stock averages
+        Runnable reloadProducts = () -> AsyncLoader.load(table, ProductCatalog::getAll, all -> {
+            avgStockPerCategory.clear();
+            avgStockPerCategory.putAll(averageStockByCategory(all));
+
+            List<Product> shown = showLowOutStock ? filterLowStock(all, avgStockPerCategory) : all;
+            products.setAll(shown);
+
+            refreshCategoryFilter(categoryFilter, shown);
+            filterSearch.runNow();
+            table.refresh();
+            table.setPlaceholder(new Label("No products found"));
+        }, error -> PopUpDialog.showError("Failed to load products."));
+        reloadProducts.run();
+
+        // Products changed on other terminals
+        CatalogUpdates.whileShowing(table, change -> reloadProducts.run());
 
         // Row styling based on stock level
         table.setRowFactory(tv -> new TableRow<>() {
@@ -194,69 +188,12 @@ public class AdminInventoryLayout {
         VBox.setVgrow(table, Priority.ALWAYS);
 
         // Button Handlers
-        addBtn.setOnAction(e -> InventoryDialog.show(null, products, () -> {
-            try {
-                List<Product> refreshed = ProductDAO.getAll();
-
-                if (showLowOutStock) {
-                    refreshed = refreshed.stream()
-                            .filter(p -> {
-                                double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
-                                return p.getStock() == 0 || p.getStock() < avg * 0.2;
-                            })
-                            .collect(Collectors.toList());
-                }
-
-                products.setAll(refreshed);
-
-                avgStockPerCategory.clear();
-                avgStockPerCategory.putAll(refreshed.stream()
-                        .collect(Collectors.groupingBy(
-                                Product::getCategoryName,
-                                Collectors.averagingInt(Product::getStock)
-                        ))
-                );
-
-                refreshCategoryFilter(categoryFilter, refreshed);
-                updateFilter.run();
-                table.refresh();
-            } catch (SQLException ex) {
-                logger.log(Level.SEVERE, "Failed to refresh product list after add", ex);
-                PopUpDialog.showError("Database Error");
-            }
-        }));
-
+        addBtn.setOnAction(e -> InventoryDialog.show(null, products, reloadProducts));
 
         editBtn.setOnAction(e -> {
             Product selected = table.getSelectionModel().getSelectedItem();
             if (selected != null) {
-                InventoryDialog.show(selected, products, () -> {
-                    try {
-                        List<Product> refreshed = ProductDAO.getAll();
-                        if (showLowOutStock) {
-                            refreshed = refreshed.stream()
-                                    .filter(p -> {
-                                        double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
-                                        return p.getStock() == 0 || p.getStock() < avg * 0.2;
-                                    })
-                                    .collect(Collectors.toList());
-                        }
-                        products.setAll(refreshed);
-                        avgStockPerCategory.clear();
-                        avgStockPerCategory.putAll(refreshed.stream()
-                                .collect(Collectors.groupingBy(
-                                        Product::getCategoryName,
-                                        Collectors.averagingInt(Product::getStock)
-                                ))
-                        );
-                        refreshCategoryFilter(categoryFilter, refreshed);
-                        updateFilter.run();
-                        table.refresh();
-                    } catch (SQLException ex) {
-                        logger.log(Level.SEVERE, "Failed to refresh inventory list after editing", ex);
-                        PopUpDialog.showError("Database Error");
-                    }
-                });
+                InventoryDialog.show(selected, products, reloadProducts);
             } else {
                 PopUpDialog.showError("Please select a product to edit.");
             }
@@ -267,42 +204,13 @@ public class AdminInventoryLayout {
             if (selected != null) {
                 PopUpDialog.showConfirmation("Delete Item", "Are you sure you want to delete this item?", confirmed -> {
                     if (confirmed) {
-                        try {
-                            ProductDAO.delete(selected.getProductId());
-
+                        AsyncLoader.load(table, () -> ProductDAO.delete(selected.getProductId()), deleted -> {
                             // FULL REFRESH instead of just products.remove(selected)
-                            List<Product> refreshed = ProductDAO.getAll();
-
-                            if (showLowOutStock) {
-                                refreshed = refreshed.stream()
-                                        .filter(p -> {
-                                            double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
-                                            return p.getStock() == 0 || p.getStock() < avg * 0.2;
-                                        })
-                                        .collect(Collectors.toList());
-                            }
-
-                            products.setAll(refreshed);
-
-                            avgStockPerCategory.clear();
-                            avgStockPerCategory.putAll(refreshed.stream()
-                                    .collect(Collectors.groupingBy(
-                                            Product::getCategoryName,
-                                            Collectors.averagingInt(Product::getStock)
-                                    ))
-                            );
-
-                            refreshCategoryFilter(categoryFilter, refreshed);
-                            updateFilter.run();
-                            table.refresh();
+                            reloadProducts.run();
 
                             PopUpDialog.showSuccess("Product deleted successfully.");
                             logger.info("Deleted product ID: " + selected.getProductId());
-
-                        } catch (Exception ex) {
-                            logger.log(Level.SEVERE, "Failed to delete product", ex);
-                            PopUpDialog.showError("An unexpected error occurred: " + ex.getMessage());
-                        }
+                        }, ex -> PopUpDialog.showError("An unexpected error occurred: " + ex.getMessage()));
                     }
                 });
             } else {
@@ -313,6 +221,26 @@ public class AdminInventoryLayout {
         // Root wrapper
         return new StackPane(content);
     }
+
+    // Average stock per category, used to flag low-stock rows
+    private static Map<String, Double> averageStockByCategory(List<Product> productList) {
+        return productList.stream()
+                .collect(Collectors.groupingBy(
+                        Product::getCategoryName,
+                        Collectors.averagingInt(Product::getStock)
+                ));
+    }
+
+    // Keeps products that are out of stock or below 20% of their category average
+    private static List<Product> filterLowStock(List<Product> productList, Map<String, Double> avgStockPerCategory) {
+        return productList.stream()
+                .filter(p -> {
+                    double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
+                    return p.getStock() == 0 || p.getStock() < avg * 0.2;
+                })
+                .collect(Collectors.toList());
+    }
+
     private static void refreshCategoryFilter(ComboBox<String> categoryFilter, List<Product> productList) {
         List<String> updatedCategories = productList.stream()
                 .map(Product::getCategoryName)
@@ -3,15 +3,15 @@ package Pages.Layouts.Admin;
 import DB.*;
 import Model.DAO.*;
 import Model.POJO.*;
+import Pages.AsyncLoader;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -59,25 +59,21 @@ public class AdminReportDetailsLayout {
             }
         });
 
-        TableColumn<SaleItem, Double> priceCol = new TableColumn<>("Price");
+        TableColumn<SaleItem, Money> priceCol = new TableColumn<>("Price");
         priceCol.setCellValueFactory(new PropertyValueFactory<>("siPrice"));
         priceCol.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double val, boolean empty) {
+            protected void updateItem(Money val, boolean empty) {
                 super.updateItem(val, empty);
                 setText(empty || val == null ? null : AppFormatter.formatCurrency(val));
             }
         });
 
-        TableColumn<SaleItem, Double> totalCol = new TableColumn<>("Total Price");
-        totalCol.setCellValueFactory(cellData -> {
-            SaleItem item = cellData.getValue();
-            double total = item.getSiQty() * item.getSiPrice();
-            return new javafx.beans.property.SimpleDoubleProperty(total).asObject();
-        });
+        TableColumn<SaleItem, Money> totalCol = new TableColumn<>("Total Price");
+        totalCol.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue().getLineTotal()));
         totalCol.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double val, boolean empty) {
+            protected void updateItem(Money val, boolean empty) {
                 super.updateItem(val, empty);
                 setText(empty || val == null ? null : AppFormatter.formatCurrency(val));
             }
@@ -85,24 +81,25 @@ public class AdminReportDetailsLayout {
 
         table.getColumns().addAll(saleIdCol, nameCol, categoryCol, quantityCol, priceCol, totalCol);
 
-        // Load data
-        try {
-            List<SaleItem> items = SaleItemDAO.getSaleItemsByDate(date);
-            table.getItems().setAll(items);
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Failed to load sale items for date: " + date, e);
-        }
-
         VBox.setVgrow(table, Priority.ALWAYS);
+        table.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
 
-        // Total calculation
-        double grandTotal = table.getItems().stream()
-                .mapToDouble(item -> item.getSiQty() * item.getSiPrice())
-                .sum();
-
-        Label totalLabel = new Label("Total Amount: " + AppFormatter.formatCurrency(grandTotal));
+        Label totalLabel = new Label("Total Amount: " + AsyncLoader.LOADING_TEXT);
         totalLabel.getStyleClass().add("total-amount");
 
+        // Load data in the background, then fill in the table and total
+        AsyncLoader.load(table, () -> SaleItemDAO.getSaleItemsByDate(date), items -> {
+            table.getItems().setAll(items);
+            table.setPlaceholder(new Label("No sales recorded for this date"));
+
+            Money grandTotal = Money.sum(items, SaleItem::getLineTotal);
+            totalLabel.setText("Total Amount: " + AppFormatter.formatCurrency(grandTotal));
+        }, error -> {
+            LOGGER.log(Level.WARNING, "Showing empty report for date: " + date);
+            table.setPlaceholder(new Label("Failed to load sale items"));
+            totalLabel.setText("Total Amount: " + AppFormatter.formatCurrency(Money.ZERO));
+        });
+
         HBox totalBox = new HBox(totalLabel);
         totalBox.setAlignment(Pos.CENTER_RIGHT);
 
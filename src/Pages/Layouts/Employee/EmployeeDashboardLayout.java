@@ -13,8 +13,7 @@ import javafx.scene.chart.*;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
-import java.sql.SQLException;
-import java.text.NumberFormat;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -22,6 +21,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static DB.AppFormatter.formatCurrency;
+import static DB.AppFormatter.formatNumber;
 
 /**
  * Provides the layout for the employee dashboard view including sales stats,
@@ -31,6 +31,15 @@ public class EmployeeDashboardLayout {
 
     private static final Logger LOGGER = Logger.getLogger(EmployeeDashboardLayout.class.getName());
 
+    // How long cached dashboard metrics are shown before being refreshed
+    private static final Duration STAT_TTL = Duration.ofSeconds(15);
+    private static final Duration CHART_TTL = Duration.ofSeconds(60);
+
+    private static final int TOP_WEEKLY_PRODUCTS = 10;
+    private static final int RECENT_SALES_SHOWN = 14;
+
+    private static final DateTimeFormatter ROW_TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
+
     /**
      * Builds the employee dashboard layout.
      */
@@ -46,24 +55,30 @@ public class EmployeeDashboardLayout {
 
         VBox todaysSales = createStatBox(
                 "Today's Sales",
-                formatCurrency(getTodaySalesTotal()),
+                AsyncLoader.LOADING_TEXT,
                 null
         );
         todaysSales.getStyleClass().add("statbox-sales");
+        AsyncLoader.loadCached(todaysSales, "employee.todaySalesTotal", STAT_TTL, EmployeeDashboardLayout::getTodaySalesTotal,
+                total -> setStatValue(todaysSales, formatCurrency(total)));
 
         VBox transactions = createStatBox(
                 "Sales Today",
-                NumberFormat.getIntegerInstance(Locale.getDefault()).format(SaleDAO.getSalesByDate(LocalDate.now()).size()),
+                AsyncLoader.LOADING_TEXT,
                 () -> EmployeeAccess.getLayout().setCenter(EmployeeTodaysSalesLogLayout.build())
         );
         transactions.getStyleClass().add("statbox-count");
+        AsyncLoader.loadCached(transactions, "employee.todaySaleCount", STAT_TTL, () -> SaleDAO.getSaleCountByDate(LocalDate.now()),
+                count -> setStatValue(transactions, formatNumber(count)));
 
         VBox lowStock = createStatBox(
                 "Low/Out of Stock",
-                NumberFormat.getIntegerInstance(Locale.getDefault()).format(ProductDAO.getLowStockCount()) + " items",
+                AsyncLoader.LOADING_TEXT,
                 () -> EmployeeAccess.getLayout().setCenter(EmployeeInventoryLayout.build(true))
         );
         lowStock.getStyleClass().add("statbox-nostock");
+        AsyncLoader.loadCached(lowStock, "inventory.lowStockCount", STAT_TTL, ProductDAO::getLowStockCount,
+                count -> setStatValue(lowStock, formatNumber(count) + " items"));
 
         HBox statsRow = new HBox(20, todaysSales, transactions, lowStock);
         statsRow.setAlignment(Pos.CENTER);
@@ -115,8 +130,8 @@ public class EmployeeDashboardLayout {
     /**
      * Returns today's total sales value.
      */
-    private static double getTodaySalesTotal() {
-        double totalSales = 0.0;
+    private static Money getTodaySalesTotal() {
+        Money totalSales = Money.ZERO;
         try {
             totalSales = SaleDAO.getTodaySalesTotal();
         } catch (Exception e) {
@@ -149,7 +164,14 @@ public class EmployeeDashboardLayout {
     }
 
     /**
-     * Builds a pie chart of today's top-selling items.
+     * Replaces the value shown in a stat box once its data has loaded.
+     */
+    private static void setStatValue(VBox statBox, String valueText) {
+        ((Label) statBox.lookup(".stat-value")).setText(valueText);
+    }
+
+    /**
+     * Builds a pie chart of today's top-selling items. Data is loaded in the background.
      */
     private static PieChart createPieChart() {
         PieChart chart = new PieChart();
@@ -158,37 +180,38 @@ public class EmployeeDashboardLayout {
         chart.setLegendVisible(false);
         chart.getStyleClass().add("dashboard-pie-chart");
 
-        Map<String, Integer> pieData = new HashMap<>();
-        try {
-            List<SaleItem> todayItems = SaleItemDAO.getSaleItemsByDate(LocalDate.now());
-            for (SaleItem item : todayItems) {
-                String label = item.getProductName();
-                pieData.put(label, pieData.getOrDefault(label, 0) + item.getSiQty());
-            }
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Failed to fetch pie chart data", e);
-        }
-
-        for (Map.Entry<String, Integer> entry : pieData.entrySet()) {
-            String label = entry.getKey();
-            if (label.length() > 15) {
-                label = label.substring(0, 12) + "...";
+        AsyncLoader.loadCached(chart, "employee.topToday", CHART_TTL, EmployeeDashboardLayout::loadTodaysProductSales, pieData -> {
+            List<PieChart.Data> slices = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : pieData.entrySet()) {
+                String label = entry.getKey();
+                if (label.length() > 15) {
+                    label = label.substring(0, 12) + "...";
+                }
+                slices.add(new PieChart.Data(label, entry.getValue()));
             }
-            chart.getData().add(new PieChart.Data(label, entry.getValue()));
-        }
-
-        Platform.runLater(() -> {
-            Node bg = chart.lookup(".chart-plot-background");
-            if (bg != null) bg.setStyle("-fx-background-color: transparent;");
-            chart.lookupAll(".chart-pie-label").forEach(labelNode ->
-                    labelNode.setStyle("-fx-fill: white; -fx-font-size: 13px;"));
+            chart.getData().setAll(slices);
+
+            Platform.runLater(() -> {
+                Node bg = chart.lookup(".chart-plot-background");
+                if (bg != null) bg.setStyle("-fx-background-color: transparent;");
+                chart.lookupAll(".chart-pie-label").forEach(labelNode ->
+                        labelNode.setStyle("-fx-fill: white; -fx-font-size: 13px;"));
+            });
         });
 
         return chart;
     }
 
     /**
-     * Builds a bar chart of the week's top-selling products.
+     * Returns today's quantity sold per product name, highest first.
+     */
+    private static Map<String, Integer> loadTodaysProductSales() {
+        LocalDate today = LocalDate.now();
+        return SalesSummaryDAO.getProductQuantities(today, today.plusDays(1), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Builds a bar chart of the week's top-selling products. Data is loaded in the background.
      */
     private static BarChart<String, Number> createBarChart() {
         CategoryAxis xAxis = new CategoryAxis();
@@ -211,112 +234,102 @@ public class EmployeeDashboardLayout {
         barChart.setHorizontalGridLinesVisible(true);
         barChart.setVerticalGridLinesVisible(false);
 
-        // Load weekly sales data
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        Map<String, Integer> weeklyData = new HashMap<>();
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.minusDays(6);
-        int maxVal = 5;
+        AsyncLoader.loadCached(barChart, "employee.topThisWeek", CHART_TTL, EmployeeDashboardLayout::loadWeeklyProductSales, weeklyData -> {
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            int maxVal = 5;
 
-        try {
-            for (LocalDate d = weekStart; !d.isAfter(today); d = d.plusDays(1)) {
-                for (SaleItem item : SaleItemDAO.getSaleItemsByDate(d)) {
-                    String name = item.getProductName();
-                    weeklyData.put(name, weeklyData.getOrDefault(name, 0) + item.getSiQty());
+            // Populate chart data
+            for (Map.Entry<String, Integer> entry : weeklyData.entrySet()) {
+                String label = entry.getKey();
+                int value = entry.getValue();
+                if (label.length() > 12) {
+                    label = label.substring(0, 10) + "...";
                 }
+                series.getData().add(new XYChart.Data<>(label, value));
+                maxVal = Math.max(maxVal, value);
             }
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Failed to fetch weekly sales data", e);
-        }
 
-        // Populate chart data
-        int count = 0;
-        for (Map.Entry<String, Integer> entry : weeklyData.entrySet()) {
-            if (count >= 10) break;
-            String label = entry.getKey();
-            int value = entry.getValue();
-            if (label.length() > 12) {
-                label = label.substring(0, 10) + "...";
-            }
-            series.getData().add(new XYChart.Data<>(label, value));
-            maxVal = Math.max(maxVal, value);
-            count++;
-        }
+            // Configure Y-axis scaling
+            int upperBound = ((maxVal + 9) / 10) * 10;
+            yAxis.setAutoRanging(false);
+            yAxis.setUpperBound(upperBound);
+            yAxis.setTickUnit(upperBound / 5.0);
 
-        // Configure Y-axis scaling
-        int upperBound = ((maxVal + 9) / 10) * 10;
-        yAxis.setAutoRanging(false);
-        yAxis.setUpperBound(upperBound);
-        yAxis.setTickUnit(upperBound / 5.0);
+            barChart.getData().setAll(List.of(series));
+        });
 
-        barChart.getData().add(series);
         return barChart;
     }
 
     /**
-     * Returns a list of recent sales made today.
+     * Returns the top selling products over the last seven days, highest first.
+     */
+    private static Map<String, Integer> loadWeeklyProductSales() {
+        LocalDate today = LocalDate.now();
+        return SalesSummaryDAO.getProductQuantities(today.minusDays(6), today.plusDays(1), TOP_WEEKLY_PRODUCTS);
+    }
+
+    /**
+     * Returns a list of recent sales made today. Rows are filled in once loaded.
      */
     private static VBox createTransactionsList() {
         VBox transactionsList = new VBox(8);
         transactionsList.setId("transactionsList");
+        transactionsList.getChildren().add(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
 
-        List<Integer> recentSaleIds = SaleDAO.getRecentSaleIds();
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-
-        int count = 0;
-        int maxItems = 14;
-        LocalDate today = LocalDate.now();
-
-        for (Integer saleId : recentSaleIds) {
-            if (count >= maxItems) break;
-
-            Sale sale = SaleDAO.getSaleById(saleId);
-            if (sale == null || !sale.getSaleDate().toLocalDate().equals(today)) continue;
-
-            List<SaleItem> items = SaleItemDAO.getSaleItemsBySaleId(saleId);
-            if (items == null || items.isEmpty()) continue;
-
-            String formattedTime = sale.getSaleDate().format(timeFormatter);
-            String formattedAmount = formatCurrency(sale.getTotalAmount());
-
-            StringBuilder itemSummary = new StringBuilder();
-            for (int i = 0; i < items.size(); i++) {
-                SaleItem item = items.get(i);
-                itemSummary.append(item.getProductName())
-                        .append(" (").append(item.getSiQty()).append(")");
-                if (i < items.size() - 1) itemSummary.append(", ");
+        AsyncLoader.loadCached(transactionsList, "employee.recentSales", STAT_TTL, () -> SaleDAO.getRecentSalesWithItems(LocalDate.now(), RECENT_SALES_SHOWN), sales -> {
+            transactionsList.getChildren().clear();
+            for (Sale sale : sales) {
+                transactionsList.getChildren().add(createTransactionRow(sale));
             }
+        });
 
-            String summary = itemSummary.toString();
-            if (summary.length() > 45) {
-                summary = summary.substring(0, 45) + "...";
-            }
+        return transactionsList;
+    }
+
+    /**
+     * Builds a clickable summary row for one sale.
+     */
+    private static HBox createTransactionRow(Sale sale) {
+        List<SaleItem> items = sale.getSaleItems();
+
+        String formattedTime = sale.getSaleDate().format(ROW_TIME_FORMAT);
+        String formattedAmount = formatCurrency(sale.getTotalAmount());
+
+        StringBuilder itemSummary = new StringBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            SaleItem item = items.get(i);
+            itemSummary.append(item.getProductName())
+                    .append(" (").append(item.getSiQty()).append(")");
+            if (i < items.size() - 1) itemSummary.append(", ");
+        }
 
-            HBox row = new HBox(10);
-            row.setPadding(new Insets(8));
-            row.setStyle("-fx-background-color: #2a2a2a; -fx-background-radius: 8;");
-            row.setAlignment(Pos.CENTER_LEFT);
+        String summary = itemSummary.toString();
+        if (summary.length() > 45) {
+            summary = summary.substring(0, 45) + "...";
+        }
 
-            Label timeLabel = new Label(formattedTime);
-            timeLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 70;");
+        HBox row = new HBox(10);
+        row.setPadding(new Insets(8));
+        row.setStyle("-fx-background-color: #2a2a2a; -fx-background-radius: 8;");
+        row.setAlignment(Pos.CENTER_LEFT);
 
-            Label amountLabel = new Label(formattedAmount);
-            amountLabel.setStyle("-fx-text-fill: #00ffcc; -fx-font-weight: bold; -fx-pref-width: 100;");
+        Label timeLabel = new Label(formattedTime);
+        timeLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 70;");
 
-            Label summaryLabel = new Label(summary);
-            summaryLabel.setStyle("-fx-text-fill: white;");
-            summaryLabel.setWrapText(true);
-            summaryLabel.setMaxWidth(400);
+        Label amountLabel = new Label(formattedAmount);
+        amountLabel.setStyle("-fx-text-fill: #00ffcc; -fx-font-weight: bold; -fx-pref-width: 100;");
 
-            row.getChildren().addAll(timeLabel, amountLabel, summaryLabel);
+        Label summaryLabel = new Label(summary);
+        summaryLabel.setStyle("-fx-text-fill: white;");
+        summaryLabel.setWrapText(true);
+        summaryLabel.setMaxWidth(400);
 
-            row.setOnMouseClicked(e -> ReceiptDialog.showContent(sale.getSaleDate(), items, items.size()));
-            row.setOnMouseEntered(e -> row.setCursor(Cursor.HAND));
+        row.getChildren().addAll(timeLabel, amountLabel, summaryLabel);
 
-            transactionsList.getChildren().add(row);
-            count++;
-        }
+        row.setOnMouseClicked(e -> ReceiptDialog.showContent(sale.getSaleDate(), items, items.size()));
+        row.setOnMouseEntered(e -> row.setCursor(Cursor.HAND));
 
-        return transactionsList;
+        return row;
     }
 }
\ No newline at end of file
@@ -2,8 +2,13 @@ package Pages.Layouts.Employee;
 
 import DB.AppFormatter;
 import Dialogs.PopUpDialog;
-import Model.DAO.ProductDAO;
+import Model.Cache.ProductCatalog;
+import Model.Cache.ProductSearchIndex;
+import Model.POJO.Money;
 import Model.POJO.Product;
+import Pages.AsyncLoader;
+import Pages.CatalogUpdates;
+import Pages.SearchPipeline;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -13,9 +18,7 @@ import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
-import java.sql.SQLException;
 import java.util.*;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -51,41 +54,12 @@ public class EmployeeInventoryLayout {
         searchField.getStyleClass().add("input-field");
         searchField.setMaxWidth(Double.MAX_VALUE);
 
-        // Fetch product list
-        List<Product> productList = new ArrayList<>();
-        try {
-            productList = ProductDAO.getAll();
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Failed to load products from database", e);
-            PopUpDialog.showError("Failed to load products.");
-        }
-
-        // Average stock per category
-        Map<String, Double> avgStockPerCategory = productList.stream()
-                .collect(Collectors.groupingBy(
-                        Product::getCategoryName,
-                        Collectors.averagingInt(Product::getStock)
-                ));
-
-        if (showLowOutStock) {
-            productList = productList.stream()
-                    .filter(p -> {
-                        double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
-                        return p.getStock() == 0 || p.getStock() < avg * 0.2;
-                    })
-                    .collect(Collectors.toList());
-        }
+        // Products are loaded in the background once the table is on screen
+        Map<String, Double> avgStockPerCategory = new HashMap<>();
 
         // Category dropdown
-        List<String> categories = productList.stream()
-                .map(Product::getCategoryName)
-                .distinct()
-                .sorted()
-                .toList();
-
         ComboBox<String> categoryFilter = new ComboBox<>();
         categoryFilter.getItems().add("All Categories");
-        categoryFilter.getItems().addAll(categories);
         categoryFilter.setValue("All Categories");
         categoryFilter.getStyleClass().add("inventory-button");
         categoryFilter.setPrefSize(200, 38);
@@ -112,15 +86,15 @@ public class EmployeeInventoryLayout {
             @Override
             protected void updateItem(Integer item, boolean empty) {
                 super.updateItem(item, empty);
-                setText(empty || item == null ? null : String.format("%,d", item));
+                setText(empty || item == null ? null : AppFormatter.formatNumber(item));
             }
         });
 
-        TableColumn<Product, Double> priceCol = new TableColumn<>("Price");
+        TableColumn<Product, Money> priceCol = new TableColumn<>("Price");
         priceCol.setCellValueFactory(new PropertyValueFactory<>("productPrice"));
         priceCol.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double item, boolean empty) {
+            protected void updateItem(Money item, boolean empty) {
                 super.updateItem(item, empty);
                 setText(empty || item == null ? null : AppFormatter.formatCurrency(item));
             }
@@ -130,29 +104,57 @@ public class EmployeeInventoryLayout {
         VBox.setVgrow(table, Priority.ALWAYS);
 
         // Filtering
-        ObservableList<Product> products = FXCollections.observableArrayList(productList);
+        ObservableList<Product> products = FXCollections.observableArrayList();
         FilteredList<Product> filteredList = new FilteredList<>(products, p -> true);
 
-        Runnable updateFilter = () -> {
-            String search = searchField.getText().toLowerCase();
-            String selectedCategory = categoryFilter.getValue();
-
-            filteredList.setPredicate(p -> {
-                boolean matchesSearch = (p.getProductName() != null && p.getProductName().toLowerCase().contains(search)) ||
-                        (p.getCategoryName() != null && p.getCategoryName().toLowerCase().contains(search));
-                boolean matchesCategory = "All Categories".equals(selectedCategory) ||
-                        (p.getCategoryName() != null && p.getCategoryName().equals(selectedCategory));
-                return matchesSearch && matchesCategory;
-            });
-        };
-
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> updateFilter.run());
-        categoryFilter.valueProperty().addListener((obs, oldVal, newVal) -> updateFilter.run());
+        // Name or category matches come from the catalog's search index
+        SearchPipeline<ProductSearchIndex.Query, Set<Integer>> filterSearch = new SearchPipeline<>(
+                searchField,
+                () -> {
+                    String selectedCategory = categoryFilter.getValue();
+                    return new ProductSearchIndex.Query(
+                            searchField.getText(),
+                            "All Categories".equals(selectedCategory) ? null : selectedCategory,
+                            false,
+                            true);
+                },
+                ProductCatalog::searchIds,
+                matches -> filteredList.setPredicate(p -> matches.contains(p.getProductId())));
+
+        filterSearch.watch(searchField.textProperty());
+        categoryFilter.valueProperty().addListener((obs, oldVal, newVal) -> filterSearch.runNow());
 
         // Sorting
         SortedList<Product> sortedList = new SortedList<>(filteredList);
         sortedList.comparatorProperty().bind(table.comparatorProperty());
         table.setItems(sortedList);
+        table.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
+
+        // Fetch product list off the FX thread, then apply stock averages and filters
+        Runnable reloadProducts = () -> AsyncLoader.load(table, ProductCatalog::getAll, all -> {
+            avgStockPerCategory.clear();
+            avgStockPerCategory.putAll(averageStockByCategory(all));
+
+            List<Product> shown = showLowOutStock ? filterLowStock(all, avgStockPerCategory) : all;
+            products.setAll(shown);
+
+            String selectedCategory = categoryFilter.getValue();
+            categoryFilter.getItems().setAll("All Categories");
+            categoryFilter.getItems().addAll(shown.stream()
+                    .map(Product::getCategoryName)
+                    .distinct()
+                    .sorted()
+                    .toList());
+            categoryFilter.setValue(categoryFilter.getItems().contains(selectedCategory) ? selectedCategory : "All Categories");
+
+            filterSearch.runNow();
+            table.refresh();
+            table.setPlaceholder(new Label("No products found"));
+        }, error -> PopUpDialog.showError("Failed to load products."));
+        reloadProducts.run();
+
+        // Products changed on other terminals
+        CatalogUpdates.whileShowing(table, change -> reloadProducts.run());
 
         // Row styling
         table.setRowFactory(tv -> new TableRow<>() {
@@ -200,4 +202,27 @@ public class EmployeeInventoryLayout {
         root.setStyle("-fx-background-color: #1e1e1e; -fx-border-color: transparent;");
         return root;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the average stock per category, used to flag low-stock rows.
+     */
+    private static Map<String, Double> averageStockByCategory(List<Product> productList) {
+        return productList.stream()
+                .collect(Collectors.groupingBy(
+                        Product::getCategoryName,
+                        Collectors.averagingInt(Product::getStock)
+                ));
+    }
+
+    /**
+     * Keeps products that are out of stock or below 20% of their category average.
+     */
+    private static List<Product> filterLowStock(List<Product> productList, Map<String, Double> avgStockPerCategory) {
+        return productList.stream()
+                .filter(p -> {
+                    double avg = avgStockPerCategory.getOrDefault(p.getCategoryName(), 0.0);
+                    return p.getStock() == 0 || p.getStock() < avg * 0.2;
+                })
+                .collect(Collectors.toList());
+    }
+}
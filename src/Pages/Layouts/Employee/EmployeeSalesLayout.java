@@ -2,9 +2,14 @@ package Pages.Layouts.Employee;
 
 import DB.*;
 import Dialogs.*;
-import Model.DAO.*;
+import Model.Cache.ProductCatalog;
+import Model.Cache.ProductSearchIndex;
 import Model.POJO.*;
-import javafx.beans.Observable;
+import Model.Service.CheckoutService;
+import Pages.AsyncLoader;
+import Pages.CatalogUpdates;
+import Pages.SearchPipeline;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -14,9 +19,10 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
 import static DB.AppFormatter.formatCurrency;
@@ -79,63 +85,75 @@ public class EmployeeSalesLayout {
         HBox.setHgrow(searchField, Priority.ALWAYS);
         searchField.setMaxWidth(Double.MAX_VALUE);
 
-        ObservableList<Product> allProducts = FXCollections.observableArrayList();
-        try {
-            allProducts.addAll(ProductDAO.getAll());
-        } catch (SQLException e) {
-            LOGGER.severe("Failed to load products: " + e.getMessage());
-            PopUpDialog.showError("Failed to load products:\n" + e.getMessage());
-        }
-
-        FilteredList<Product> filteredProducts = new FilteredList<>(allProducts, p -> true);
+        // Every catalog product in ID order, updated in place so the table keeps its selection
+        // and scroll position; the table shows the in-stock ones matching the search
+        ObservableList<Product> products = FXCollections.observableArrayList();
+        FilteredList<Product> shownProducts = new FilteredList<>(products, p -> false);
+        Set<Integer> matchedIds = new HashSet<>();
+        SearchPipeline<ProductSearchIndex.Query, Set<Integer>> productSearch = new SearchPipeline<>(
+                searchField,
+                () -> {
+                    String category = categoryFilter.getValue();
+                    return new ProductSearchIndex.Query(
+                            searchField.getText(),
+                            category == null || category.equals("All Categories") ? null : category,
+                            false,
+                            false);
+                },
+                ProductCatalog::searchIds,
+                matches -> {
+                    // A new predicate refilters the whole table, so only set one when the matches change
+                    if (matches.equals(matchedIds)) return;
+                    matchedIds.clear();
+                    matchedIds.addAll(matches);
+                    shownProducts.setPredicate(p -> matches.contains(p.getProductId()) && p.getStock() > 0);
+                });
 
-        // Populate category filter
+        // Populate category filter; categories are added once products load
         categoryFilter.getItems().add("All Categories");
-        categoryFilter.getItems().addAll(
-                allProducts.stream()
-                        .map(Product::getCategoryName)
-                        .distinct()
-                        .sorted()
-                        .toList()
-        );
         categoryFilter.getSelectionModel().selectFirst();
 
         // Category filtering
         categoryFilter.valueProperty().addListener((obs, oldVal, newVal) -> {
-            filteredProducts.setPredicate(product -> {
-                boolean matchesSearch = product.getProductName().toLowerCase().contains(searchField.getText().toLowerCase());
-                boolean matchesCategory = newVal == null
-                        || newVal.equals("All Categories")
-                        || product.getCategoryName().equals(newVal);
-                boolean hasStock = product.getStock() > 0;
-                return matchesSearch && matchesCategory && hasStock;
-            });
+            productSearch.runNow();
             LOGGER.info("Category selected: " + newVal);
         });
 
-        // Text filtering
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            filteredProducts.setPredicate(product -> {
-                boolean matchesSearch = product.getProductName().toLowerCase().contains(newVal.toLowerCase());
-                boolean matchesCategory = categoryFilter.getValue() == null
-                        || categoryFilter.getValue().equals("All Categories")
-                        || product.getCategoryName().equals(categoryFilter.getValue());
-                boolean hasStock = product.getStock() > 0;
-                return matchesSearch && matchesCategory && hasStock;
-            });
-            LOGGER.info("Search updated: " + newVal);
-        });
+        // Text filtering, once typing pauses
+        productSearch.watch(searchField.textProperty());
 
         TableView<Product> productsTable = createProductsTable(); // Product table
-        productsTable.setItems(filteredProducts);
+        productsTable.setItems(shownProducts);
+        productsTable.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
+
+        AsyncLoader.load(productsTable, ProductCatalog::getAll, all -> {
+            products.setAll(all);
+            productSearch.runNow();
+            categoryFilter.getItems().addAll(
+                    all.stream()
+                            .map(Product::getCategoryName)
+                            .distinct()
+                            .sorted()
+                            .toList()
+            );
+            productsTable.setPlaceholder(new Label("No products available"));
+        }, e -> PopUpDialog.showError("Failed to load products:\n" + e.getMessage()));
+
+        // Stock and price changes made on other terminals
+        CatalogUpdates.whileShowing(productsTable, change -> {
+            applyChanges(products, change.updated(), change.removedIds());
+            productSearch.runNow();
+        });
 
-        ObservableList<CartItem> cartItems = FXCollections.observableArrayList();
+        Cart cart = new Cart();
+        ObservableList<CartItem> cartItems = cart.getItems();
         TableView<CartItem> cartTable = createCartTable(cartItems); // Cart table
         cartTable.setItems(cartItems);
 
         Label totalLabel = new Label();
         totalLabel.getStyleClass().add("total-amount");
-        bindTotalLabel(totalLabel, cartItems); // Bind total
+        totalLabel.textProperty().bind(Bindings.createStringBinding(
+                () -> "Total: " + formatCurrency(cart.getTotal()), cart.totalProperty()));
         HBox totalBox = new HBox(totalLabel);
         totalBox.setAlignment(Pos.CENTER_RIGHT);
         totalBox.setPadding(new Insets(5, 10, 0, 10));
@@ -158,21 +176,44 @@ public class EmployeeSalesLayout {
         clearCartBtn.prefWidthProperty().bind(cartButtons.widthProperty().multiply(0.4));
         completeSaleBtn.prefWidthProperty().bind(cartButtons.widthProperty().multiply(0.6));
 
+        // Barcode scanner input; scanners type the code and press Enter
+        TextField scanField = new TextField();
+        scanField.setPromptText("Scan barcode or enter SKU...");
+        scanField.getStyleClass().add("input-field");
+
+        Label scanStatus = new Label();
+        scanStatus.setStyle("-fx-text-fill: #888;");
+
+        scanField.setOnAction(e -> {
+            String sku = scanField.getText().trim();
+            scanField.clear();
+            if (sku.isEmpty()) return;
+
+            Product scanned = ProductCatalog.getBySku(sku);
+            if (scanned == null) {
+                scanStatus.setText("No product with SKU " + sku);
+                return;
+            }
+
+            CartItem line = cart.get(scanned.getProductId());
+            if ((line == null ? 0 : line.getQuantity()) >= scanned.getStock()) {
+                scanStatus.setText("Not enough stock for " + scanned.getProductName());
+                return;
+            }
+
+            cart.add(scanned, 1);
+            cartTable.refresh();
+            scanStatus.setText("Added " + scanned.getProductName());
+        });
+
         // Add selected product to cart
         addToCartBtn.setOnAction(e -> {
             Product selected = productsTable.getSelectionModel().getSelectedItem();
             if (selected != null) {
-                for (CartItem item : cartItems) {
-                    if (item.getProduct().getProductId() == selected.getProductId()) {
-                        item.setQuantity(item.getQuantity() + 1);
-                        cartTable.refresh();
-                        LOGGER.info("Increased quantity for: " + selected.getProductName());
-                        return;
-                    }
-                }
-                cartItems.add(new CartItem(selected, 1));
+                CartItem line = cart.add(selected, 1);
                 cartTable.refresh();
-                LOGGER.info("Added product to cart: " + selected.getProductName());
+                LOGGER.info((line.getQuantity() > 1 ? "Increased quantity for: " : "Added product to cart: ")
+                        + selected.getProductName());
             } else {
                 LOGGER.info("No product selected");
             }
@@ -184,87 +225,39 @@ public class EmployeeSalesLayout {
             LOGGER.info("Cart cleared.");
         });
 
-        // Complete sale transaction
+        // Complete sale transaction; the commit runs in the background so the next cart can start
         completeSaleBtn.setOnAction(e -> {
             if (cartItems.isEmpty()) {
                 PopUpDialog.showError("Cart is empty.");
                 return;
             }
 
-            Connection conn = null;
-
-            try {
-                conn = JDBC.connect();
-                conn.setAutoCommit(false); // Begin transaction
-
-                int totalQty = cartItems.stream().mapToInt(CartItem::getQuantity).sum();
-                double totalAmount = cartItems.stream().mapToDouble(CartItem::getTotal).sum();
-                LocalDateTime now = LocalDateTime.now();
-
-                Sale sale = new Sale();
-                sale.setSaleQty(totalQty);
-                sale.setTotalAmount(totalAmount);
-                sale.setSaleDate(now);
-
-                int saleId = SaleDAO.insertSale(conn, sale, cartItems);
-                if (saleId <= 0) {
-                    conn.rollback();
-                    PopUpDialog.showError("Failed to complete sale.");
-                    return;
-                }
-
-                for (CartItem item : cartItems) {
-                    Product product = item.getProduct();
-                    int qty = item.getQuantity();
-                    int productId = product.getProductId();
+            List<CartItem> submitted = List.copyOf(cartItems);
+            cartItems.clear();
 
-                    if (qty > product.getStock()) {
-                        conn.rollback();
-                        PopUpDialog.showError("Not enough stock for: " + product.getProductName());
-                        return;
-                    }
+            CheckoutService.submit(submitted).whenComplete((result, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    LOGGER.severe("Transaction failed: " + cause.getMessage());
 
-                    if (!ProductDAO.reduceStock(conn, productId, qty)) {
-                        conn.rollback();
-                        PopUpDialog.showError("Failed to reduce stock for: " + product.getProductName());
-                        return;
+                    // Give the failed cart back unless the cashier already started a new one
+                    if (cartItems.isEmpty()) {
+                        cartItems.setAll(submitted);
                     }
+                    PopUpDialog.showError(cause instanceof CheckoutService.CheckoutException
+                            ? cause.getMessage()
+                            : "Transaction failed: " + cause.getMessage());
+                    return;
                 }
 
-                conn.commit();
+                // CheckoutService already applied the new stock to the catalog
+                AsyncLoader.load(productsTable, ProductCatalog::getAll, all -> {
+                    applyChanges(products, all, removedIds(products, all));
+                    productSearch.runNow();
+                });
                 PopUpDialog.showSuccess("Sale completed!");
-                LOGGER.info("Sale completed with ID: " + saleId);
-
-                cartItems.clear();
-
-                // Refresh product list
-                try {
-                    allProducts.setAll(ProductDAO.getAll());
-                    productsTable.refresh();
-                } catch (SQLException ex) {
-                    LOGGER.severe("Failed to reload products: " + ex.getMessage());
-                    PopUpDialog.showError("Failed to reload products:\n" + ex.getMessage());
-                }
-
-            } catch (Exception ex) {
-                LOGGER.severe("Transaction failed: " + ex.getMessage());
-                try {
-                    if (conn != null) conn.rollback();
-                } catch (Exception rollbackEx) {
-                    LOGGER.severe("Rollback failed: " + rollbackEx.getMessage());
-                    PopUpDialog.showError("Rollback failed: " + rollbackEx.getMessage());
-                }
-                PopUpDialog.showError("Transaction failed: " + ex.getMessage());
-            } finally {
-                try {
-                    if (conn != null) {
-                        conn.setAutoCommit(true);
-                        conn.close();
-                    }
-                } catch (Exception closeEx) {
-                    LOGGER.warning("Failed to close connection: " + closeEx.getMessage());
-                }
-            }
+            }));
         });
 
         // Layout assembly
@@ -274,7 +267,7 @@ public class EmployeeSalesLayout {
         productsBox.getChildren().addAll(title, searchAndFilterBox, productsTable, addToCartBtn);
         VBox.setVgrow(productsBox, Priority.ALWAYS);
         VBox.setVgrow(cartBox, Priority.ALWAYS);
-        cartBox.getChildren().addAll(cartTable, totalBox, cartButtons);
+        cartBox.getChildren().addAll(scanField, scanStatus, cartTable, totalBox, cartButtons);
 
         contentArea.add(productsBox, 0, 0);
         contentArea.add(cartBox, 1, 0);
@@ -286,6 +279,55 @@ public class EmployeeSalesLayout {
         return layout;
     }
 
+    /**
+     * Applies catalog changes to the ID-ordered product list, replacing, inserting and removing
+     * only the products that changed, so unchanged rows keep their selection.
+     */
+    private static void applyChanges(ObservableList<Product> products, List<Product> updated, Set<Integer> removedIds) {
+        if (!removedIds.isEmpty()) {
+            products.removeIf(p -> removedIds.contains(p.getProductId()));
+        }
+        for (Product product : updated) {
+            int index = indexOf(products, product.getProductId());
+            if (index < 0) {
+                products.add(-index - 1, product);
+            } else if (products.get(index) != product) {
+                products.set(index, product);
+            }
+        }
+    }
+
+    // IDs in the list that are no longer among the given products
+    private static Set<Integer> removedIds(List<Product> products, List<Product> current) {
+        Set<Integer> currentIds = new HashSet<>();
+        for (Product product : current) {
+            currentIds.add(product.getProductId());
+        }
+        Set<Integer> removed = new HashSet<>();
+        for (Product product : products) {
+            if (!currentIds.contains(product.getProductId())) removed.add(product.getProductId());
+        }
+        return removed;
+    }
+
+    // Binary search by product ID; returns (-(insertion point) - 1) when absent, like Collections.binarySearch
+    private static int indexOf(List<Product> products, int productId) {
+        int low = 0;
+        int high = products.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = products.get(mid).getProductId();
+            if (midId < productId) {
+                low = mid + 1;
+            } else if (midId > productId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
     /**
      * Creates and returns the product table view.
      */
@@ -299,8 +341,7 @@ public class EmployeeSalesLayout {
 
         TableColumn<Product, String> priceCol = new TableColumn<>("Price");
         priceCol.setCellValueFactory(cellData -> {
-            double price = cellData.getValue().getProductPrice();
-            return new SimpleStringProperty(formatCurrency(price));
+            return new SimpleStringProperty(formatCurrency(cellData.getValue().getProductPrice()));
         });
 
         TableColumn<Product, String> stockCol = new TableColumn<>("Stock");
@@ -422,8 +463,7 @@ public class EmployeeSalesLayout {
         // === Subtotal Column ===
         TableColumn<CartItem, String> subtotalCol = new TableColumn<>("Subtotal");
         subtotalCol.setCellValueFactory(data -> {
-            double subtotal = data.getValue().getTotal();
-            return new SimpleStringProperty(formatCurrency(subtotal));
+            return new SimpleStringProperty(formatCurrency(data.getValue().getTotal()));
         });
         subtotalCol.setPrefWidth(100);
 
@@ -466,32 +506,4 @@ public class EmployeeSalesLayout {
         });
         return cartTable;
     }
-
-    /**
-     * Binds total label to dynamically show current cart total.
-     */
-    private static void bindTotalLabel(Label totalLabel, ObservableList<CartItem> cartItems) {
-        Runnable rebinder = () -> {
-            Observable[] dependencies = cartItems.stream()
-                    .map(CartItem::quantityProperty)
-                    .toArray(Observable[]::new);
-
-            totalLabel.textProperty().bind(Bindings.createStringBinding(() -> {
-                double total = cartItems.stream()
-                        .mapToDouble(CartItem::getTotal)
-                        .sum();
-                return "Total: " + formatCurrency(total);
-            }, dependencies));
-        };
-
-        cartItems.addListener((javafx.collections.ListChangeListener<CartItem>) change -> {
-            while (change.next()) {
-                if (change.wasAdded() || change.wasRemoved()) {
-                    rebinder.run();
-                }
-            }
-        });
-
-        rebinder.run(); // Initial bind
-    }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import DB.*;
 import Dialogs.*;
 import Model.DAO.*;
 import Model.POJO.*;
+import Pages.AsyncLoader;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -27,8 +28,9 @@ public class EmployeeSalesLogDetailsLayout {
     /**
      * Builds the transaction details layout for a specific date.
      * Contains a table view of sales, total calculation, and back button.
+     * The day's sales are loaded in the background.
      */
-    public static VBox build(BorderPane parentLayout, LocalDate date, List<Sale> sales){
+    public static VBox build(BorderPane parentLayout, LocalDate date){
         logger.info("Building Transaction Details Layout for date: " + date);
 
         Label title = new Label("Transaction Details - " + date.format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
@@ -83,16 +85,20 @@ public class EmployeeSalesLogDetailsLayout {
 
         // Add columns and data to table
         table.getColumns().addAll(idCol, timeCol, itemsCol, totalCol);
-        table.getItems().addAll(sales);
+        table.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
 
-        // Calculate grand total
-        double grandTotal = sales.stream()
-                .mapToDouble(Sale::getTotalAmount)
-                .sum();
-
-        Label totalLabel = new Label("Total Amount: " + AppFormatter.formatCurrency(grandTotal));
+        Label totalLabel = new Label("Total Amount: " + AsyncLoader.LOADING_TEXT);
         totalLabel.setStyle("-fx-font-size: 15px; -fx-font-weight: bold; -fx-text-fill: white;");
 
+        // Load the day's sales, then calculate the grand total
+        AsyncLoader.load(table, () -> SaleDAO.getSalesByDate(date), sales -> {
+            table.getItems().setAll(sales);
+            table.setPlaceholder(new Label("No sales recorded for this date"));
+
+            Money grandTotal = Money.sum(sales, Sale::getTotalAmount);
+            totalLabel.setText("Total Amount: " + AppFormatter.formatCurrency(grandTotal));
+        });
+
         HBox totalBox = new HBox(totalLabel);
         totalBox.setAlignment(Pos.CENTER_RIGHT);
 
@@ -118,7 +124,7 @@ public class EmployeeSalesLogDetailsLayout {
      * Shows receipt content for the selected sale.
      */
     private static void showSaleDetails(Sale sale) {
-        List<SaleItem> items = SaleItemDAO.getSaleItemsBySaleId(sale.getSaleId());
+        List<SaleItem> items = sale.getSaleItems();
         int itemCount = items.stream().mapToInt(SaleItem::getSiQty).sum();
         ReceiptDialog.showContent(sale.getSaleDate(), items, itemCount);
     }
@@ -4,6 +4,7 @@ import DB.*;
 import Dialogs.*;
 import Model.DAO.*;
 import Model.POJO.*;
+import Pages.AsyncLoader;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -12,12 +13,10 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -39,12 +38,18 @@ public class EmployeeTodaysSalesLogLayout {
         dateLabel.getStyleClass().add("date-label");
 
         TableView<Sale> table = createTransactionTable(); // Table
-        List<Sale> sales = loadTodaysSales(table); // Load data
+        table.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
 
-        double grandTotal = sales.stream().mapToDouble(Sale::getTotalAmount).sum();
-        Label totalLabel = new Label("Total Amount: " + AppFormatter.formatCurrency(grandTotal));
+        Label totalLabel = new Label("Total Amount: " + AsyncLoader.LOADING_TEXT);
         totalLabel.setStyle("-fx-font-size: 15px; -fx-font-weight: bold; -fx-text-fill: white;");
 
+        // Load data off the FX thread, then fill in the table and total
+        AsyncLoader.load(table, () -> SaleDAO.getSalesByDate(LocalDate.now()), sales -> {
+            showTodaysSales(table, sales);
+            Money grandTotal = Money.sum(sales, Sale::getTotalAmount);
+            totalLabel.setText("Total Amount: " + AppFormatter.formatCurrency(grandTotal));
+        });
+
         HBox totalBox = new HBox(totalLabel);
         totalBox.setAlignment(Pos.CENTER_RIGHT);
 
@@ -72,7 +77,7 @@ public class EmployeeTodaysSalesLogLayout {
         TableColumn<Sale, String> timeCol = new TableColumn<>("Time");
         timeCol.setCellValueFactory(data -> {
             LocalDateTime dt = data.getValue().getSaleDate();
-            String formatted = dt != null ? dt.format(DateTimeFormatter.ofPattern("hh:mm a")) : "N/A";
+            String formatted = dt != null ? AppFormatter.formatTime(dt) : "N/A";
             return new SimpleStringProperty(formatted);
         });
         timeCol.setPrefWidth(100);
@@ -102,7 +107,7 @@ public class EmployeeTodaysSalesLogLayout {
             row.setOnMouseClicked(event -> {
                 if (!row.isEmpty()) {
                     Sale sale = row.getItem();
-                    List<SaleItem> items = SaleItemDAO.getSaleItemsBySaleId(sale.getSaleId());
+                    List<SaleItem> items = sale.getSaleItems();
                     if (items != null && !items.isEmpty()) {
                         ReceiptDialog.showContent(sale.getSaleDate(), items, items.size());
                     }
@@ -114,22 +119,11 @@ public class EmployeeTodaysSalesLogLayout {
         return table;
     }
 
-    // Loads today's sales and populates the table
-    private static List<Sale> loadTodaysSales(TableView<Sale> table) {
-        ObservableList<Sale> salesObservable = FXCollections.observableArrayList();
-        List<Sale> sales = SaleDAO.getSalesByDate(LocalDate.now());
-
-        for (Sale sale : sales) {
-            try {
-                List<SaleItem> items = SaleItemDAO.getBySaleId(sale.getSaleId());
-                sale.setSaleItems(items);
-                salesObservable.add(sale);
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Error loading sale items for sale ID " + sale.getSaleId(), e);
-            }
-        }
+    // Populates the table with today's sales and their items
+    private static void showTodaysSales(TableView<Sale> table, List<Sale> sales) {
+        ObservableList<Sale> salesObservable = FXCollections.observableArrayList(sales);
 
         table.setItems(salesObservable);
-        return sales;
+        table.setPlaceholder(new Label("No sales yet today"));
     }
 }
\ No newline at end of file
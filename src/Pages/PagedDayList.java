@@ -0,0 +1,172 @@
+package Pages;
+
+import Model.DAO.SalesSummaryDAO;
+import Model.DAO.SalesSummaryDAO.SummaryPage;
+import Model.POJO.DailySalesSummary;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Scrollable list of daily sales summaries shown as cards, with a "Show More" footer.
+ * <p>
+ * Days are held in a virtualized ListView, so only the visible cards exist as nodes and
+ * their cells are reused while scrolling, no matter how many pages have been loaded.
+ * Pages come from {@link SalesSummaryDAO#getDaysBefore}, using the oldest loaded day as cursor.
+ */
+public final class PagedDayList extends VBox {
+
+    private static final Logger logger = Logger.getLogger(PagedDayList.class.getName());
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
+    private static final int DAYS_PER_SHOW_MORE = 10;
+    // Upper bound on days shown by a filtered load (longest filter is 3 months)
+    private static final int DAYS_IN_FILTER = 93;
+
+    private final ListView<DailySalesSummary> listView = new ListView<>();
+    private final VBox footerBox = new VBox();
+    private final Function<DailySalesSummary, List<String>> details;
+    private final Consumer<LocalDate> onView;
+
+    private LocalDate oldestDayLoaded;
+    private Task<SummaryPage> pendingLoad;
+
+    /**
+     * @param details text lines shown under the date on each card
+     * @param onView  called with the card's date when "View Details" is clicked
+     */
+    public PagedDayList(Function<DailySalesSummary, List<String>> details, Consumer<LocalDate> onView) {
+        super(10);
+        this.details = details;
+        this.onView = onView;
+
+        listView.getStyleClass().add("day-list");
+        listView.setCellFactory(lv -> new DayCell());
+        listView.setFocusTraversable(false);
+        listView.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        footerBox.setAlignment(Pos.CENTER);
+
+        getChildren().addAll(listView, footerBox);
+    }
+
+    /**
+     * Clears the list and loads every sale day from notBefore up to today.
+     */
+    public void reload(LocalDate notBefore) {
+        oldestDayLoaded = null;
+        listView.getItems().clear();
+        listView.setPlaceholder(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
+        loadPage(notBefore, DAYS_IN_FILTER);
+    }
+
+    /**
+     * Loads the next page of days older than the oldest one shown. A newer request cancels
+     * one that is still running.
+     */
+    private void loadPage(LocalDate notBefore, int limit) {
+        if (pendingLoad != null) {
+            pendingLoad.cancel();
+        }
+
+        LocalDate before = oldestDayLoaded;
+        footerBox.getChildren().setAll(AsyncLoader.placeholder(AsyncLoader.LOADING_TEXT));
+
+        pendingLoad = AsyncLoader.load(this, () -> SalesSummaryDAO.getDaysBefore(before, notBefore, limit), page -> {
+            listView.getItems().addAll(page.days());
+            if (!page.days().isEmpty()) {
+                oldestDayLoaded = page.days().getLast().getSummaryDate();
+            }
+            listView.setPlaceholder(AsyncLoader.placeholder("No sales records in this period"));
+
+            footerBox.getChildren().clear();
+            if (page.hasMore()) {
+                Button more = new Button("Show More");
+                more.getStyleClass().add("inventory-button");
+                more.setOnAction(ev -> loadPage(null, DAYS_PER_SHOW_MORE));
+                footerBox.getChildren().add(more);
+            } else {
+                Label done = new Label("No more sales records available");
+                done.setStyle("-fx-text-fill: #888; -fx-padding: 10 0 20 0;");
+                footerBox.getChildren().add(done);
+            }
+
+            logger.fine("Loaded " + page.days().size() + " day(s), " + listView.getItems().size() + " in list");
+        });
+    }
+
+    // A day card built once per cell and refilled as the cell is reused
+    private class DayCell extends ListCell<DailySalesSummary> {
+        private final Label dateLabel = new Label();
+        private final VBox detailBox = new VBox(10);
+        private final VBox card;
+        private LocalDate date;
+
+        DayCell() {
+            dateLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+
+            Button viewBtn = new Button("View Details");
+            viewBtn.getStyleClass().add("inventory-button");
+            viewBtn.setOnAction(e -> {
+                if (date != null) onView.accept(date);
+            });
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            HBox header = new HBox(10, dateLabel, spacer, viewBtn);
+            header.setAlignment(Pos.CENTER_LEFT);
+
+            card = new VBox(10, header, detailBox);
+            card.setPadding(new Insets(15));
+            card.setMaxWidth(Double.MAX_VALUE);
+            card.setStyle("-fx-background-color: #2e2e2e; -fx-background-radius: 10;");
+
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
+
+        @Override
+        protected void updateItem(DailySalesSummary summary, boolean empty) {
+            super.updateItem(summary, empty);
+            if (empty || summary == null) {
+                date = null;
+                setGraphic(null);
+                return;
+            }
+
+            date = summary.getSummaryDate();
+            dateLabel.setText("📅 " + date.format(DATE_FORMAT));
+
+            List<String> lines = details.apply(summary);
+            ObservableList<Node> labels = detailBox.getChildren();
+            while (labels.size() < lines.size()) {
+                Label label = new Label();
+                label.setStyle("-fx-text-fill: #cccccc;");
+                labels.add(label);
+            }
+            labels.remove(lines.size(), labels.size());
+            for (int i = 0; i < lines.size(); i++) {
+                ((Label) labels.get(i)).setText(lines.get(i));
+            }
+
+            setGraphic(card);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Pages;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.util.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs a search when its inputs change, debounced and off the FX thread.
+ * <p>
+ * Input changes restart a short pause and the search only starts once typing stops, so a
+ * barcode scanner or fast typist causes one search instead of one per key. The query is read
+ * on the FX thread, the search runs through {@link AsyncLoader}, and starting a new search
+ * cancels the previous one; a result is only published if no newer search was started.
+ * Every method must be called on the FX thread.
+ *
+ * @param <Q> the query, read from the screen's controls
+ * @param <R> the search result
+ */
+public final class SearchPipeline<Q, R> {
+
+    private static final Logger logger = Logger.getLogger(SearchPipeline.class.getName());
+
+    public static final Duration DEBOUNCE_DELAY = Duration.millis(150);
+
+    private final Node owner;
+    private final Supplier<Q> query;
+    private final Function<Q, R> search;
+    private final Consumer<R> onResult;
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE_DELAY);
+
+    private long generation;
+    private Task<R> running;
+
+    /**
+     * @param owner    node whose removal from the scene cancels a running search
+     * @param query    reads the current query from the controls, on the FX thread
+     * @param search   computes the result in the background; must not touch the scene graph
+     * @param onResult shows the latest result, on the FX thread
+     */
+    public SearchPipeline(Node owner, Supplier<Q> query, Function<Q, R> search, Consumer<R> onResult) {
+        this.owner = owner;
+        this.query = query;
+        this.search = search;
+        this.onResult = onResult;
+        debounce.setOnFinished(e -> runNow());
+    }
+
+    /**
+     * Searches again, debounced, whenever one of the inputs changes.
+     */
+    public SearchPipeline<Q, R> watch(ObservableValue<?>... inputs) {
+        for (ObservableValue<?> input : inputs) {
+            input.addListener((obs, oldVal, newVal) -> trigger());
+        }
+        return this;
+    }
+
+    /**
+     * Searches once no further trigger arrives within the debounce delay.
+     */
+    public void trigger() {
+        debounce.playFromStart();
+    }
+
+    /**
+     * Searches immediately, for example after the data being searched has changed.
+     */
+    public void runNow() {
+        debounce.stop();
+        cancelRunning();
+
+        Q current = query.get();
+        long mine = ++generation;
+        long start = System.nanoTime();
+        running = AsyncLoader.load(owner, () -> search.apply(current), result -> {
+            if (mine != generation) return;
+            running = null;
+            onResult.accept(result);
+            logger.fine("Search for " + current + " finished in " + (System.nanoTime() - start) / 1_000 + " µs");
+        });
+    }
+
+    /**
+     * Drops any pending or running search without publishing it.
+     */
+    public void cancel() {
+        debounce.stop();
+        generation++;
+        cancelRunning();
+    }
+
+    private void cancelRunning() {
+        if (running != null) {
+            running.cancel();
+            running = null;
+        }
+    }
+}
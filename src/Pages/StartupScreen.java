@@ -0,0 +1,71 @@
+package Pages;
+
+import DB.JDBC;
+import DB.SalesSummaryBackfill;
+import Model.Cache.CatalogSync;
+import Monitoring.MetricsReporter;
+import Pages.Layouts.AccessLayout;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
+import java.util.logging.Logger;
+
+/**
+ * Shown while the database is prepared at startup.
+ * <p>
+ * {@link JDBC#init()} may wait for another terminal's migration, so it runs in the
+ * background behind a progress screen. If it fails the error is shown and
+ * the application exits, because every screen needs the migrated schema.
+ * Otherwise the login layout is shown and the background services are started.
+ * Both entry points ({@code Main} and {@link AccessPage}) start up through here.
+ */
+public class StartupScreen {
+
+    private static final Logger logger = Logger.getLogger(StartupScreen.class.getName());
+
+    /**
+     * Shows the progress screen in {@link AccessPage#root} and, once the database is ready,
+     * the access layout. Call on the FX thread.
+     */
+    public static void show() {
+        ProgressIndicator progress = new ProgressIndicator();
+        Label status = new Label("Preparing database...");
+        status.setStyle("-fx-text-fill: white; -fx-font-size: 18px;");
+
+        VBox layout = new VBox(20, progress, status);
+        layout.setAlignment(Pos.CENTER);
+        AccessPage.root.getChildren().setAll(layout);
+
+        AsyncLoader.load(null, () -> {
+            JDBC.init();
+            return null;
+        }, ready -> {
+            logger.info("Database ready");
+            AccessLayout.show();
+            CatalogSync.start(); // Pick up product changes made on other terminals
+            SalesSummaryBackfill.start(); // Fill rollups for sales older than the rollup tables
+            MetricsReporter.start(); // Publish query and pool metrics, if configured
+        }, StartupScreen::fail);
+    }
+
+    /**
+     * Stops the metrics endpoint, which would otherwise keep the JVM alive after the window
+     * closes. Called from the application's stop().
+     */
+    public static void shutdown() {
+        MetricsReporter.stop();
+    }
+
+    private static void fail(Throwable error) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.initOwner(AccessPage.root.getScene().getWindow());
+        alert.setTitle("Startup Failed");
+        alert.setHeaderText("The database could not be prepared.");
+        alert.setContentText(error.getMessage() + "\n\nThe application will now close.");
+        alert.showAndWait();
+        Platform.exit();
+    }
+}
@@ -0,0 +1,48 @@
+package DB;
+
+import Model.POJO.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppFormatterTest {
+
+    @Test
+    void formatsCentavosWithPesoSignAndGrouping() {
+        assertEquals("₱0.00", AppFormatter.formatCurrency(Money.ZERO));
+        assertEquals("₱0.05", AppFormatter.formatCurrency(Money.ofCentavos(5)));
+        assertEquals("₱0.50", AppFormatter.formatCurrency(Money.ofCentavos(50)));
+        assertEquals("₱999.99", AppFormatter.formatCurrency(Money.ofCentavos(99_999)));
+        assertEquals("₱1,000.00", AppFormatter.formatCurrency(Money.ofCentavos(100_000)));
+        assertEquals("₱1,234,567.08", AppFormatter.formatCurrency(Money.ofCentavos(123_456_708)));
+        assertEquals("₱-1,000.01", AppFormatter.formatCurrency(Money.ofCentavos(-100_001)));
+    }
+
+    @Test
+    void groupsWithLeadingZerosInsideGroups() {
+        assertEquals("₱1,001,010.00", AppFormatter.formatCurrency(Money.ofCentavos(100_101_000)));
+        assertEquals("₱92,233,720,368,547,758.07", AppFormatter.formatCurrency(Money.ofCentavos(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void roundsDoublesHalfUpToTheCentavo() {
+        assertEquals("₱0.13", AppFormatter.formatCurrency(0.125));
+        assertEquals("₱-0.13", AppFormatter.formatCurrency(-0.125));
+        assertEquals("₱0.30", AppFormatter.formatCurrency(0.1 + 0.2));
+        assertEquals("₱12,345.68", AppFormatter.formatCurrency(12_345.678));
+    }
+
+    @Test
+    void hugeAndNonFiniteDoublesUseTheFallbackFormat() {
+        assertEquals("₱10,000,000,000,000.00", AppFormatter.formatCurrency(1e13));
+        assertTrue(AppFormatter.formatCurrency(Double.NaN).startsWith("₱"));
+    }
+
+    @Test
+    void formatsNumbersWithGrouping() {
+        assertEquals("0", AppFormatter.formatNumber(0));
+        assertEquals("1,000", AppFormatter.formatNumber(1_000));
+        assertEquals("-12,345", AppFormatter.formatNumber(-12_345));
+        assertEquals("-2,147,483,648", AppFormatter.formatNumber(Integer.MIN_VALUE));
+    }
+}
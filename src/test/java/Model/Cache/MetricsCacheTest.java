@@ -0,0 +1,124 @@
+package Model.Cache;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsCacheTest {
+
+    // The cache is static, so every test uses keys of its own
+    private static String key() {
+        return "test-" + UUID.randomUUID();
+    }
+
+    @Test
+    void unknownKeysAreNotCached() {
+        assertNull(MetricsCache.peek(key()));
+    }
+
+    @Test
+    void valuesStayFreshForTheirTimeToLive() throws Exception {
+        String key = key();
+
+        assertEquals(42, MetricsCache.refresh(key, Duration.ofMinutes(5), () -> 42));
+
+        MetricsCache.Cached<Integer> cached = MetricsCache.peek(key);
+        assertEquals(42, cached.value());
+        assertTrue(cached.fresh());
+    }
+
+    @Test
+    void expiredValuesAreStillServedAsStale() throws Exception {
+        String key = key();
+        MetricsCache.refresh(key, Duration.ofMillis(1), () -> "old");
+        Thread.sleep(5);
+
+        MetricsCache.Cached<String> cached = MetricsCache.peek(key);
+        assertEquals("old", cached.value());
+        assertFalse(cached.fresh());
+    }
+
+    @Test
+    void invalidateMarksOnlyThatEntryStale() throws Exception {
+        String invalidated = key();
+        String other = key();
+        MetricsCache.refresh(invalidated, Duration.ofMinutes(5), () -> 1);
+        MetricsCache.refresh(other, Duration.ofMinutes(5), () -> 2);
+
+        MetricsCache.invalidate(invalidated);
+
+        assertFalse(MetricsCache.peek(invalidated).fresh());
+        assertEquals(1, MetricsCache.<Integer>peek(invalidated).value());
+        assertTrue(MetricsCache.peek(other).fresh());
+    }
+
+    @Test
+    void invalidateAllAlsoCoversRefreshesAlreadyRunning() throws Exception {
+        String done = key();
+        String running = key();
+        MetricsCache.refresh(done, Duration.ofMinutes(5), () -> 1);
+
+        MetricsCache.refresh(running, Duration.ofMinutes(5), () -> {
+            MetricsCache.invalidateAll(); // e.g. a checkout commits while the query runs
+            return 2;
+        });
+
+        assertFalse(MetricsCache.peek(done).fresh());
+        assertFalse(MetricsCache.peek(running).fresh());
+
+        MetricsCache.refresh(done, Duration.ofMinutes(5), () -> 3);
+        assertTrue(MetricsCache.peek(done).fresh());
+    }
+
+    @Test
+    void concurrentRefreshesShareOneLoad() throws Exception {
+        String key = key();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> refreshQuietly(key, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return 7;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> refreshQuietly(key, () -> {
+            loads.incrementAndGet();
+            return 8;
+        }));
+
+        Thread.sleep(100); // Let the second refresh find the first one running
+        release.countDown();
+
+        assertEquals(7, first.get(5, TimeUnit.SECONDS));
+        assertEquals(7, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        String key = key();
+
+        assertThrows(IllegalStateException.class, () -> MetricsCache.refresh(key, Duration.ofMinutes(5), () -> {
+            throw new IllegalStateException("query failed");
+        }));
+        assertNull(MetricsCache.peek(key));
+    }
+
+    private static Integer refreshQuietly(String key, Callable<Integer> loader) {
+        try {
+            return MetricsCache.refresh(key, Duration.ofMinutes(5), loader);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
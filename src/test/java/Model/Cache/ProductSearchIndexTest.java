@@ -0,0 +1,123 @@
+package Model.Cache;
+
+import Model.POJO.Money;
+import Model.POJO.Product;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private static Product product(int id, String name, String category, int stock) {
+        Product product = new Product(id, 1, name, "", Money.parse("10"), stock);
+        product.setCategoryName(category);
+        return product;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getProductId).toList();
+    }
+
+    private static ProductSearchIndex index(Product... products) {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(products));
+        return index;
+    }
+
+    private static ProductSearchIndex.Query text(String text) {
+        return new ProductSearchIndex.Query(text, null, false, false);
+    }
+
+    @Test
+    void findsNamesContainingTheTextIgnoringCase() {
+        ProductSearchIndex index = index(
+                product(3, "Coca-Cola 1.5L", "Drinks", 5),
+                product(1, "Cola Zero", "Drinks", 5),
+                product(2, "Potato Chips", "Snacks", 5));
+
+        assertEquals(List.of(1, 2, 3), ids(index.search(text(""))));
+        assertEquals(List.of(1, 3), ids(index.search(text("COLA"))));
+        assertEquals(List.of(2), ids(index.search(text("potato chips"))));
+        assertEquals(List.of(), ids(index.search(text("lemonade"))));
+    }
+
+    @Test
+    void oneAndTwoLetterQueriesScanTheNames() {
+        ProductSearchIndex index = index(
+                product(1, "Gin", "Drinks", 5),
+                product(2, "Egg", "Dairy", 5),
+                product(3, "Ox", "Meat", 5));
+
+        assertEquals(List.of(1, 2), ids(index.search(text("g"))));
+        assertEquals(List.of(2), ids(index.search(text("GG"))));
+        assertEquals(List.of(3), ids(index.search(text("ox"))));
+        assertEquals(List.of(), ids(index.search(text("zz"))));
+    }
+
+    @Test
+    void trigramsInAnotherOrderDoNotMatch() {
+        ProductSearchIndex index = index(product(1, "abcd bcab", "Misc", 5));
+
+        assertEquals(List.of(), ids(index.search(text("abcab"))));
+        assertEquals(List.of(1), ids(index.search(text("bcab"))));
+    }
+
+    @Test
+    void filtersByCategoryStockAndCategoryName() {
+        ProductSearchIndex index = index(
+                product(1, "Milk", "Dairy", 0),
+                product(2, "Milk Tea", "Drinks", 4),
+                product(3, "Cheese", "Dairy", 2));
+
+        assertEquals(List.of(1), ids(index.search(new ProductSearchIndex.Query("milk", "Dairy", false, false))));
+        assertEquals(List.of(2), ids(index.search(new ProductSearchIndex.Query("milk", null, true, false))));
+        assertEquals(List.of(1, 3), ids(index.search(new ProductSearchIndex.Query("dairy", null, false, true))));
+        assertEquals(List.of(), ids(index.search(new ProductSearchIndex.Query("", "Bakery", false, false))));
+    }
+
+    @Test
+    void renameReindexesTheProduct() {
+        ProductSearchIndex index = index(product(1, "Old Name", "Misc", 5));
+
+        index.update(product(1, "New Name", "Other", 5));
+
+        assertEquals(List.of(), ids(index.search(text("old"))));
+        assertEquals(List.of(1), ids(index.search(text("new"))));
+        assertEquals(List.of(), ids(index.search(new ProductSearchIndex.Query("", "Misc", false, false))));
+        assertEquals(List.of(1), ids(index.search(new ProductSearchIndex.Query("", "Other", false, false))));
+    }
+
+    @Test
+    void removedSlotsAreReusedWithoutStaleMatches() {
+        ProductSearchIndex index = index(
+                product(1, "Apple", "Fruit", 5),
+                product(2, "Banana", "Fruit", 0));
+
+        index.remove(2);
+        assertEquals(List.of(1), ids(index.search(text(""))));
+        assertEquals(List.of(), ids(index.search(text("banana"))));
+
+        index.update(product(7, "Cherry", "Fruit", 3));
+        assertEquals(List.of(1, 7), ids(index.search(text(""))));
+        assertEquals(List.of(), ids(index.search(text("ban"))));
+        assertEquals(List.of(7), ids(index.search(new ProductSearchIndex.Query("ch", null, true, false))));
+
+        index.remove(42);
+        assertEquals(List.of(1, 7), ids(index.search(text(""))));
+    }
+
+    @Test
+    void stockUpdatesReplaceTheProductAndItsStockFlag() {
+        ProductSearchIndex index = index(product(1, "Bread", "Bakery", 3));
+        ProductSearchIndex.Query inStock = new ProductSearchIndex.Query("bread", null, true, false);
+
+        Product soldOut = product(1, "Bread", "Bakery", 0);
+        index.updateStock(soldOut);
+        assertEquals(List.of(), index.search(inStock));
+        assertSame(soldOut, index.search(text("bread")).getFirst());
+
+        index.updateStock(product(1, "Bread", "Bakery", 9));
+        assertEquals(9, index.search(inStock).getFirst().getStock());
+    }
+}
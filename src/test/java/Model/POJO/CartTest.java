@@ -0,0 +1,69 @@
+package Model.POJO;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartTest {
+
+    private static Product product(int id, String price) {
+        return new Product(id, 1, "Product " + id, "", Money.parse(price), 100);
+    }
+
+    @Test
+    void addingTheSameProductGrowsItsLine() {
+        Cart cart = new Cart();
+        Product soda = product(1, "25.50");
+
+        CartItem first = cart.add(soda, 1);
+        CartItem second = cart.add(soda, 2);
+
+        assertSame(first, second);
+        assertEquals(1, cart.getItems().size());
+        assertEquals(3, cart.get(1).getQuantity());
+        assertEquals(Money.parse("76.50"), cart.getTotal());
+    }
+
+    @Test
+    void totalFollowsQuantityChangesAndRemovals() {
+        Cart cart = new Cart();
+        CartItem soda = cart.add(product(1, "25.50"), 2);
+        cart.add(product(2, "0.10"), 3);
+        assertEquals(Money.parse("51.30"), cart.getTotal());
+
+        soda.setQuantity(1);
+        assertEquals(Money.parse("25.80"), cart.getTotal());
+
+        cart.getItems().remove(soda);
+        assertNull(cart.get(1));
+        assertEquals(Money.parse("0.30"), cart.getTotal());
+
+        cart.getItems().clear();
+        assertEquals(Money.ZERO, cart.getTotal());
+    }
+
+    @Test
+    void linesSetDirectlyOnTheListAreTracked() {
+        Cart cart = new Cart();
+        cart.add(product(1, "10"), 1);
+
+        cart.getItems().setAll(new CartItem(product(2, "2.25"), 4), new CartItem(product(3, "1"), 1));
+
+        assertNull(cart.get(1));
+        assertNotNull(cart.get(2));
+        assertEquals(Money.parse("10.00"), cart.getTotal());
+    }
+
+    @Test
+    void laterPriceChangesDoNotUnbalanceTheTotal() {
+        Cart cart = new Cart();
+        Product soda = product(1, "20");
+        CartItem line = cart.add(soda, 2);
+
+        soda.setProductPrice(Money.parse("30"));
+        line.setQuantity(3);
+        cart.getItems().clear();
+
+        assertEquals(Money.ZERO, cart.getTotal());
+    }
+}
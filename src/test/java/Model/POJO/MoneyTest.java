@@ -0,0 +1,57 @@
+package Model.POJO;
+
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void parsesWholeAndFractionalPesos() {
+        assertEquals(1200, Money.parse("12").centavos());
+        assertEquals(1250, Money.parse("12.5").centavos());
+        assertEquals(123456, Money.parse(" 1234.56 ").centavos());
+        assertEquals(-199, Money.parse("-1.99").centavos());
+    }
+
+    @Test
+    void roundsHalfUpToTheCentavo() {
+        assertEquals(101, Money.parse("1.005").centavos());
+        assertEquals(100, Money.parse("1.0049").centavos());
+        assertEquals(-101, Money.of(new BigDecimal("-1.005")).centavos());
+    }
+
+    @Test
+    void rejectsTextThatIsNotAnAmount() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("12,50"));
+        assertThrows(NumberFormatException.class, () -> Money.parse(""));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1e30"));
+    }
+
+    @Test
+    void sumsExactlyWhereDoublesDrift() {
+        List<Money> dimes = Collections.nCopies(1_000, Money.parse("0.10"));
+
+        assertEquals(Money.ofCentavos(10_000), Money.sum(dimes, m -> m));
+        assertEquals(Money.ZERO, Money.sum(List.<Money>of(), m -> m));
+    }
+
+    @Test
+    void overflowFailsInsteadOfWrapping() {
+        Money max = Money.ofCentavos(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.sum(List.of(max, max), m -> m));
+    }
+
+    @Test
+    void printsTwoDecimals() {
+        assertEquals("1234.50", Money.parse("1234.5").toString());
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("-0.05", Money.ofCentavos(-5).toString());
+    }
+}
@@ -0,0 +1,72 @@
+package Monitoring;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertArrayEquals(new long[]{0, 0}, histogram.getValuesAtPercentiles(50, 99));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 60; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(30, histogram.getValueAtPercentile(50));
+        assertEquals(60, histogram.getValueAtPercentile(100));
+        assertEquals(60, histogram.getMaxNanos());
+        assertEquals(1830, histogram.getSumNanos());
+    }
+
+    @Test
+    void singleValuesAreReportedExactly() {
+        for (long value : new long[]{0, 31, 64, 65, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            assertEquals(value, histogram.getValueAtPercentile(50), "value " + value);
+        }
+    }
+
+    @Test
+    void negativeValuesCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void percentilesStayWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(7);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) (Math.exp(random.nextGaussian() * 1.5) * 300_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        double[] percentiles = {1, 50, 90, 99, 99.9, 100};
+        long[] reported = histogram.getValuesAtPercentiles(percentiles);
+        for (int i = 0; i < percentiles.length; i++) {
+            long exact = values[(int) Math.ceil(percentiles[i] / 100 * values.length) - 1];
+            assertTrue(reported[i] >= exact, "p" + percentiles[i] + " below the recorded value");
+            assertTrue(reported[i] <= exact * 1.03, "p" + percentiles[i] + ": " + reported[i] + " vs " + exact);
+        }
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMaxNanos());
+    }
+}